@@ -0,0 +1,100 @@
+package com.parpet.customer_management.benchmark;
+
+import com.parpet.customer_management.audit.CustomerAuditAspect;
+import com.parpet.customer_management.audit.CustomerAuditEventPublisher;
+import com.parpet.customer_management.audit.dto.CustomerAuditEventCommand;
+import com.parpet.customer_management.controller.CustomerController;
+import com.parpet.customer_management.dto.incoming.CustomerCommand;
+import com.parpet.customer_management.dto.mapper.CustomerMapper;
+import com.parpet.customer_management.model.Customer;
+import com.parpet.customer_management.service.CustomerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of {@link CustomerAuditAspect#auditCustomerOperations}: the same
+ * {@link CustomerController#createCustomer} call directly and through the CGLIB proxy Spring
+ * builds for the aspect. The service returns a prepared customer and the publisher is a stub
+ * that only keeps the last command, so the difference is proxying, the request projection and
+ * building the audit command.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditAspectBenchmark {
+    private CustomerController plain;
+    private CustomerController advised;
+    private CustomerCommand command;
+    private StubPublisher publisher;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Customer customer = new Customer();
+        customer.setId(1L);
+        customer.setName("Kiss János");
+        customer.setAge(30);
+        customer.setDateOfBirth(LocalDate.of(1994, 1, 15));
+        customer.setGender("M");
+
+        CustomerService customerService = new CustomerService(null, null, null, null, null, null, null) {
+            @Override
+            public Customer createCustomer(CustomerCommand customerCommand) {
+                return customer;
+            }
+        };
+        plain = new CustomerController(customerService, new CustomerMapper(), null);
+
+        publisher = new StubPublisher();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(plain);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new CustomerAuditAspect(publisher));
+        advised = proxyFactory.getProxy();
+
+        command = new CustomerCommand();
+        command.setName("Kiss János");
+        command.setAge(30);
+        command.setDateOfBirth(LocalDate.of(1994, 1, 15));
+        command.setAddress("1234 Budapest, Példa utca 1.");
+        command.setGender("M");
+    }
+
+    @Benchmark
+    public ResponseEntity<Customer> withoutAspect() {
+        return plain.createCustomer(command);
+    }
+
+    @Benchmark
+    public ResponseEntity<Customer> withAspect() {
+        return advised.createCustomer(command);
+    }
+
+    private static final class StubPublisher extends CustomerAuditEventPublisher {
+        private volatile CustomerAuditEventCommand last;
+
+        StubPublisher() {
+            super(null, null);
+        }
+
+        @Override
+        public void publishAuditEvent(CustomerAuditEventCommand customerAuditEventCommand) {
+            last = customerAuditEventCommand;
+        }
+    }
+}
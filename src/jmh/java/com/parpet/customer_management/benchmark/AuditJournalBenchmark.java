@@ -0,0 +1,89 @@
+package com.parpet.customer_management.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parpet.customer_management.audit.journal.AuditJournal;
+import com.parpet.customer_management.audit.journal.AuditJournalProperties;
+import com.parpet.customer_management.audit.journal.FsyncPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request path cost of {@link AuditJournal#append} for a typical update event, per fsync policy.
+ * The benchmark commits (and so deletes the full segments) every 64k appends to keep the disk
+ * usage bounded; that cost is spread over the measured calls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditJournalBenchmark {
+
+    @Param({"NONE", "INTERVAL", "EVERY_WRITE"})
+    public FsyncPolicy fsyncPolicy;
+
+    private Path directory;
+    private AuditJournal journal;
+    private AuditEvent event;
+    private long appended;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("audit-journal-benchmark");
+        AuditJournalProperties properties = new AuditJournalProperties();
+        properties.setDirectory(directory);
+        properties.setSegmentSize(DataSize.ofMegabytes(16));
+        properties.setFsyncPolicy(fsyncPolicy);
+        journal = new AuditJournal(properties, new ObjectMapper());
+        journal.open();
+
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("name", "Kiss János");
+        request.put("age", 30);
+        request.put("dateOfBirth", "1994-01-15");
+        request.put("address", "1234 Budapest, Példa utca 1.");
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("customerId", 42L);
+        data.put("request", request);
+        data.put("status", "SUCCESS");
+        event = new AuditEvent(Instant.parse("2024-03-15T10:30:00Z"), "SYSTEM", "UPDATE_CUSTOMER", data);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public long append() {
+        long offset = journal.append(event);
+        if ((++appended & 0xFFFF) == 0) {
+            journal.commit(journal.getWriteOffset());
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,118 @@
+package com.parpet.customer_management.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.parpet.customer_management.dto.outgoing.CustomerDetails;
+import lombok.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Wire formats of GET /api/customers: serializing a {@code Page<CustomerDetails>} on the server and
+ * reading it back on a consumer, per format. The mappers are configured like the Spring Boot ones
+ * (JavaTimeModule, no timestamps for dates). The size of one page, plain and gzipped (as sent with
+ * server.compression), is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentFormatBenchmark {
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private String format;
+
+    @Param({"20", "1000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<CustomerDetails> page;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "CBOR" -> new CBORMapper();
+            case "SMILE" -> new SmileMapper();
+            default -> new ObjectMapper();
+        };
+        objectMapper.registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        List<CustomerDetails> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            CustomerDetails customer = new CustomerDetails();
+            customer.setId((long) i + 1);
+            customer.setName("Kiss János " + i);
+            customer.setAge(20 + i % 60);
+            customer.setDateOfBirth(LocalDate.of(1960 + i % 60, 1 + i % 12, 1 + i % 28));
+            customer.setAddress("1234 Budapest, Példa utca " + i + ".");
+            customer.setGender(i % 2 == 0 ? "M" : "F");
+            customer.setVersion((long) i % 5);
+            content.add(customer);
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 100_000);
+        serialized = objectMapper.writeValueAsBytes(page);
+
+        System.out.printf("%n%s, %d customers: %d bytes, %d bytes gzipped%n",
+                format, pageSize, serialized.length, gzip(serialized).length);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public CustomerPage deserializePage() throws IOException {
+        return objectMapper.readValue(serialized, CustomerPage.class);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * What a consumer binds the page to; the envelope fields it does not need are skipped.
+     */
+    @Data
+    public static class CustomerPage {
+        private List<CustomerDetails> content;
+        private long totalElements;
+        private int totalPages;
+        private int number;
+        private int size;
+    }
+}
@@ -0,0 +1,80 @@
+package com.parpet.customer_management.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.parpet.customer_management.dto.mapper.CustomerMapper;
+import com.parpet.customer_management.dto.outgoing.CustomerDetails;
+import com.parpet.customer_management.model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The response side of GET /api/customers: mapping a page of entities with {@link CustomerMapper}
+ * and serializing the resulting {@code Page<CustomerDetails>} with Jackson, configured like the
+ * Spring Boot default (JavaTimeModule, no timestamps for dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerPageBenchmark {
+
+    @Param({"20", "1000"})
+    private int pageSize;
+
+    private final CustomerMapper customerMapper = new CustomerMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private Page<Customer> customers;
+    private Page<CustomerDetails> details;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Customer> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Customer customer = new Customer();
+            customer.setId((long) i + 1);
+            customer.setName("Kiss János " + i);
+            customer.setAge(20 + i % 60);
+            customer.setDateOfBirth(LocalDate.of(1960 + i % 60, 1 + i % 12, 1 + i % 28));
+            customer.setAddress("1234 Budapest, Példa utca " + i + ".");
+            customer.setGender(i % 2 == 0 ? "M" : "F");
+            content.add(customer);
+        }
+        customers = new PageImpl<>(content, PageRequest.of(0, pageSize), 100_000);
+        details = customers.map(customerMapper::entitiesToDto);
+    }
+
+    @Benchmark
+    public Page<CustomerDetails> mapEntitiesToDto() {
+        return customers.map(customerMapper::entitiesToDto);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(details);
+    }
+}
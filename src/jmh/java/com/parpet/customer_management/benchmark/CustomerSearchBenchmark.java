@@ -0,0 +1,118 @@
+package com.parpet.customer_management.benchmark;
+
+import com.parpet.customer_management.util.TrigramIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one customer search: the in-memory {@link TrigramIndex} (name and address) versus
+ * the equivalent {@code lower(name) LIKE '%q%' OR lower(address) LIKE '%q%'} query against an
+ * in-memory H2 table with the same rows. The SQL side only finds exact substrings, the index
+ * also tolerates typos, so this is a lower bound for what LIKE would cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerSearchBenchmark {
+    private static final String URL = "jdbc:h2:mem:customer_search;DB_CLOSE_DELAY=-1";
+    private static final String[] FIRST_NAMES = {"János", "Anna", "Péter", "Katalin", "László", "Éva", "Gábor", "Zsófia"};
+    private static final String[] LAST_NAMES = {"Kiss", "Nagy", "Kovács", "Szabó", "Horváth", "Tóth", "Varga", "Molnár"};
+    private static final String[] CITIES = {"Budapest", "Szeged", "Debrecen", "Pécs", "Győr", "Miskolc"};
+    private static final String[] STREETS = {"Fő utca", "Váci út", "Kossuth tér", "Petőfi utca", "Rákóczi út", "Bartók Béla út"};
+
+    @Param({"100000"})
+    private int customers;
+
+    @Param({"kovács", "rákóczi út"})
+    private String query;
+
+    private final TrigramIndex names = new TrigramIndex();
+    private final TrigramIndex addresses = new TrigramIndex();
+    private Connection connection;
+    private PreparedStatement like;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(URL, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE customers (id BIGINT PRIMARY KEY, name VARCHAR(100), address VARCHAR(200))");
+        }
+
+        Random random = new Random(42);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO customers (id, name, address) VALUES (?, ?, ?)")) {
+            for (int id = 1; id <= customers; id++) {
+                String name = pick(random, LAST_NAMES) + " " + pick(random, FIRST_NAMES) + " " + id;
+                String address = (1000 + random.nextInt(9000)) + " " + pick(random, CITIES) + ", "
+                        + pick(random, STREETS) + " " + (1 + random.nextInt(200)) + ".";
+                insert.setLong(1, id);
+                insert.setString(2, name);
+                insert.setString(3, address);
+                insert.addBatch();
+                names.put(id, name);
+                addresses.put(id, address);
+                if (id % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        like = connection.prepareStatement("SELECT id FROM customers WHERE lower(name) LIKE ? OR lower(address) LIKE ? LIMIT 20");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int trigramIndex() {
+        return names.search(query, 0.5, 20).size() + addresses.search(query, 0.5, 20).size();
+    }
+
+    @Benchmark
+    public int sqlLike() throws SQLException {
+        String pattern = "%" + query + "%";
+        like.setString(1, pattern);
+        like.setString(2, pattern);
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet resultSet = like.executeQuery()) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        return ids.size();
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
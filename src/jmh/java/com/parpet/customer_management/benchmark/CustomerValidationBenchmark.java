@@ -0,0 +1,74 @@
+package com.parpet.customer_management.benchmark;
+
+import com.parpet.customer_management.dto.incoming.CustomerCommand;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of a {@link CustomerCommand} (the @Valid on POST and PUT), for a valid command
+ * and for one that violates every constraint (message interpolation included).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerValidationBenchmark {
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private CustomerCommand valid;
+    private CustomerCommand invalid;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        valid = new CustomerCommand();
+        valid.setName("Kiss János");
+        valid.setAge(30);
+        valid.setDateOfBirth(LocalDate.of(1994, 1, 15));
+        valid.setAddress("1234 Budapest, Példa utca 1.");
+        valid.setGender("M");
+
+        invalid = new CustomerCommand();
+        invalid.setName(" ");
+        invalid.setAge(-1);
+        invalid.setAddress("x".repeat(201));
+        invalid.setGender("X");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerCommand>> validCommand() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerCommand>> invalidCommand() {
+        return validator.validate(invalid);
+    }
+}
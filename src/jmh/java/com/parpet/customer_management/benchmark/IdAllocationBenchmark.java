@@ -0,0 +1,143 @@
+package com.parpet.customer_management.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts per second with IDENTITY keys (one INSERT + generated key read per row, no batching
+ * possible) versus pooled sequence ids (one nextval per 50 rows, rows sent as JDBC batches),
+ * for a single writer and for four concurrent writers, against an in-memory H2 database.
+ * One operation is one inserted row.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdAllocationBenchmark {
+    private static final String URL = "jdbc:h2:mem:id_allocation;DB_CLOSE_DELAY=-1";
+    private static final int ALLOCATION_SIZE = 50;
+
+    @State(Scope.Benchmark)
+    public static class Database {
+        private Connection keepAlive;
+
+        @Setup(Level.Trial)
+        public void createSchema() throws SQLException {
+            keepAlive = DriverManager.getConnection(URL, "sa", "");
+            try (Statement statement = keepAlive.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS customers_identity ("
+                        + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(100))");
+                statement.execute("CREATE TABLE IF NOT EXISTS customers_pooled (id BIGINT PRIMARY KEY, name VARCHAR(100))");
+                statement.execute("CREATE SEQUENCE IF NOT EXISTS customers_pooled_seq INCREMENT BY " + ALLOCATION_SIZE);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void dropSchema() throws SQLException {
+            try (Statement statement = keepAlive.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+            }
+            keepAlive.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private Connection connection;
+        private PreparedStatement identityInsert;
+        private PreparedStatement pooledInsert;
+        private PreparedStatement nextBlock;
+        private long nextId;
+        private long blockEnd;
+        private int pending;
+
+        @Setup(Level.Trial)
+        public void open(Database database) throws SQLException {
+            connection = DriverManager.getConnection(URL, "sa", "");
+            identityInsert = connection.prepareStatement(
+                    "INSERT INTO customers_identity (name) VALUES (?)", Statement.RETURN_GENERATED_KEYS);
+            pooledInsert = connection.prepareStatement("INSERT INTO customers_pooled (id, name) VALUES (?, ?)");
+            nextBlock = connection.prepareStatement("SELECT NEXT VALUE FOR customers_pooled_seq");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            if (pending > 0) {
+                pooledInsert.executeBatch();
+            }
+            connection.close();
+        }
+
+        long identity(String name) throws SQLException {
+            identityInsert.setString(1, name);
+            identityInsert.executeUpdate();
+            try (ResultSet keys = identityInsert.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+
+        long pooled(String name) throws SQLException {
+            if (nextId > blockEnd) {
+                try (ResultSet resultSet = nextBlock.executeQuery()) {
+                    resultSet.next();
+                    blockEnd = resultSet.getLong(1);
+                }
+                nextId = blockEnd - ALLOCATION_SIZE + 1;
+            }
+            long id = nextId++;
+            pooledInsert.setLong(1, id);
+            pooledInsert.setString(2, name);
+            pooledInsert.addBatch();
+            if (++pending == ALLOCATION_SIZE) {
+                pooledInsert.executeBatch();
+                pending = 0;
+            }
+            return id;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long identitySingleWriter(Writer writer) throws SQLException {
+        return writer.identity("Kiss János");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long pooledSingleWriter(Writer writer) throws SQLException {
+        return writer.pooled("Kiss János");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long identityConcurrentWriters(Writer writer) throws SQLException {
+        return writer.identity("Kiss János");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long pooledConcurrentWriters(Writer writer) throws SQLException {
+        return writer.pooled("Kiss János");
+    }
+}
@@ -0,0 +1,93 @@
+package com.parpet.customer_management.benchmark;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost the instrumentation adds to one request, on the Prometheus registry used in production:
+ * a timer with server-side histogram buckets (what @Timed(histogram = true) records), the same
+ * timer with client-side percentiles for comparison, and an audit outcome counter cached in a
+ * field versus looked up through the registry on every increment. Run with four threads, the
+ * counters are contended like under load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+    private PrometheusMeterRegistry registry;
+    private Timer histogramTimer;
+    private Timer percentileTimer;
+    private Counter cachedCounter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        histogramTimer = Timer.builder("customer.service")
+                .tag("method", "getCustomer")
+                .publishPercentileHistogram()
+                .register(registry);
+        percentileTimer = Timer.builder("customer.service.percentiles")
+                .tag("method", "getCustomer")
+                .publishPercentiles(0.5, 0.95, 0.99, 0.999)
+                .register(registry);
+        cachedCounter = Counter.builder("customer.audit.events")
+                .tag("action", "CREATE_CUSTOMER")
+                .tag("status", "SUCCESS")
+                .register(registry);
+    }
+
+    @Benchmark
+    public void baseline(Blackhole blackhole) {
+        blackhole.consume(work());
+    }
+
+    @Benchmark
+    public void histogramTimer(Blackhole blackhole) {
+        long start = System.nanoTime();
+        blackhole.consume(work());
+        histogramTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void percentileTimer(Blackhole blackhole) {
+        long start = System.nanoTime();
+        blackhole.consume(work());
+        percentileTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void cachedCounter() {
+        cachedCounter.increment();
+    }
+
+    @Benchmark
+    public void registryLookupCounter() {
+        registry.counter("customer.audit.events", "action", "CREATE_CUSTOMER", "status", "SUCCESS").increment();
+    }
+
+    private static long work() {
+        Blackhole.consumeCPU(64);
+        return System.identityHashCode(MetricsOverheadBenchmark.class);
+    }
+}
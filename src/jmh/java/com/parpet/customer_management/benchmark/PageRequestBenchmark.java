@@ -0,0 +1,46 @@
+package com.parpet.customer_management.benchmark;
+
+import com.parpet.customer_management.dto.incoming.QueryDto;
+import com.parpet.customer_management.util.JsonUtils;
+import com.parpet.customer_management.util.SortSpecCompiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JsonUtils#jsonStringToPageRequest} as called by GET /api/customers, for the default sort
+ * and for a three-key sort. The sort compiler cache is warm, as it is after the first request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageRequestBenchmark {
+
+    @Param({
+            "[{\"field\":\"name\",\"direction\":\"ASC\"}]",
+            "[{\"field\":\"gender\",\"direction\":\"ASC\"},{\"field\":\"dateOfBirth\",\"direction\":\"DESC\"},{\"field\":\"id\",\"direction\":\"ASC\"}]"
+    })
+    private String sort;
+
+    @Benchmark
+    public PageRequest jsonStringToPageRequest() {
+        return JsonUtils.jsonStringToPageRequest(QueryDto.builder()
+                .page(3)
+                .size(20)
+                .sort(sort)
+                .build(), SortSpecCompiler.CUSTOMER);
+    }
+}
@@ -0,0 +1,62 @@
+package com.parpet.customer_management.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parpet.customer_management.dto.incoming.SortDto;
+import com.parpet.customer_management.util.SortSpecCompiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of turning the sort parameter into a {@link Sort}.
+ * {@code perRequestObjectMapper} is the former JsonUtils implementation, kept here as baseline.
+ * Run with {@code -prof gc} to see the allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortSpecBenchmark {
+    private static final String DEFAULT_SORT = "[{\"field\":\"name\",\"direction\":\"ASC\"}]";
+
+    private final SortSpecCompiler uncached = new SortSpecCompiler("Customer",
+            Set.of("id", "name", "age", "dateOfBirth", "address", "gender"), 0);
+
+    @Benchmark
+    public Sort perRequestObjectMapper() throws Exception {
+        ObjectMapper obj = new ObjectMapper();
+        List<SortDto> sortDtos = obj.readValue(DEFAULT_SORT, obj.getTypeFactory().constructCollectionType(List.class, SortDto.class));
+        List<Sort.Order> orders = new ArrayList<>();
+        for (SortDto sortDto : sortDtos) {
+            Sort.Direction direction = Objects.equals(sortDto.getDirection(), "desc")
+                    ? Sort.Direction.DESC : Sort.Direction.ASC;
+            orders.add(new Sort.Order(direction, sortDto.getField()));
+        }
+        return Sort.by(orders);
+    }
+
+    @Benchmark
+    public Sort compiledWithoutCache() {
+        return uncached.compile(DEFAULT_SORT);
+    }
+
+    @Benchmark
+    public Sort compiledCached() {
+        return SortSpecCompiler.CUSTOMER.compile(DEFAULT_SORT);
+    }
+}
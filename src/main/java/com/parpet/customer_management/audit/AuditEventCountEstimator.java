@@ -0,0 +1,79 @@
+package com.parpet.customer_management.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Approximate row count of audit_events, so the pageable endpoint does not have to run
+ * an exact {@code count(*)} on every request. On PostgreSQL the planner statistics
+ * ({@code pg_class.reltuples}, summed over the partitions) are used, other databases fall back to an exact count.
+ * Either way the value is cached and refreshed at most once per {@code refresh-interval},
+ * by a single caller while the others keep getting the previous value.
+ */
+@Slf4j
+@Component
+public class AuditEventCountEstimator {
+    // a partitioned parent has no statistics of its own, its partitions are summed instead;
+    // -1 if none of them has been analyzed yet
+    private static final String RELTUPLES_SQL =
+            "SELECT CASE WHEN bool_and(c.reltuples < 0) THEN -1 ELSE sum(greatest(c.reltuples, 0)) END::bigint "
+                    + "FROM pg_class c WHERE (c.oid = 'audit_events'::regclass AND c.relkind = 'r') "
+                    + "OR c.oid IN (SELECT inhrelid FROM pg_inherits WHERE inhparent = 'audit_events'::regclass)";
+    private static final String COUNT_SQL = "SELECT count(*) FROM audit_events";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long refreshIntervalNanos;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Boolean postgres;
+    private volatile long estimate = -1;
+    private volatile long refreshedAt;
+
+    public AuditEventCountEstimator(JdbcTemplate jdbcTemplate,
+                                    @Value("${audit.count.refresh-interval:60s}") Duration refreshInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    public long estimate() {
+        if (estimate < 0) {
+            refresh();
+        } else if (System.nanoTime() - refreshedAt > refreshIntervalNanos && refreshing.compareAndSet(false, true)) {
+            try {
+                refresh();
+            } finally {
+                refreshing.set(false);
+            }
+        }
+        return estimate;
+    }
+
+    private void refresh() {
+        Long value = null;
+        if (isPostgres()) {
+            value = jdbcTemplate.queryForObject(RELTUPLES_SQL, Long.class);
+        }
+        if (value == null || value < 0) {
+            // no statistics yet (table never analyzed) or not PostgreSQL
+            value = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+        }
+
+        estimate = value == null ? 0 : value;
+        refreshedAt = System.nanoTime();
+        log.debug("Audit event count estimate refreshed: {}", estimate);
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+}
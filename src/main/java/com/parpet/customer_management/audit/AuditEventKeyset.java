@@ -0,0 +1,45 @@
+package com.parpet.customer_management.audit;
+
+import com.parpet.customer_management.audit.model.AuditEventEntity;
+import com.parpet.customer_management.util.CursorCodec;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Cursor of the keyset paged audit trail. The order is fixed to newest first, (timestamp DESC, id DESC),
+ * which is the order the (principal, timestamp) and (type, timestamp) indexes can be read in.
+ */
+final class AuditEventKeyset {
+    private static final String SIGNATURE = "timestamp:DESC,id:DESC";
+
+    private AuditEventKeyset() {
+
+    }
+
+    /**
+     * @return the (timestamp, id) key of the last row of the previous page, or {@code null} for the first page
+     */
+    static Key decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        List<String> values = CursorCodec.decode(cursor, SIGNATURE);
+        if (values.size() != 2) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            return new Key(Instant.parse(values.get(0)), Long.valueOf(values.get(1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    static String encode(AuditEventEntity last) {
+        return CursorCodec.encode(SIGNATURE, List.of(last.getTimestamp().toString(), last.getId().toString()));
+    }
+
+    record Key(Instant timestamp, Long id) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.parpet.customer_management.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.parpet.customer_management.dto.incoming.CustomerCommand;
+import com.parpet.customer_management.dto.incoming.CustomerFilter;
+import com.parpet.customer_management.dto.incoming.CustomerPatch;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compact structured projections of request arguments for the audit data map. The map is
+ * serialized only once, by the jsonb mapping of the audit table, so the request ends up there as
+ * a JSON object instead of an escaped JSON string, and no Jackson serialization runs on the
+ * request thread.
+ */
+public class AuditPayloads {
+    private AuditPayloads() {
+
+    }
+
+    /**
+     * The request of a controller call: its command if it has one, otherwise its first argument.
+     */
+    public static Object request(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof CustomerCommand command) {
+                return project(command);
+            }
+            if (arg instanceof CustomerPatch patch) {
+                return project(patch);
+            }
+        }
+        return args.length > 0 ? project(args[0]) : null;
+    }
+
+    public static Object project(Object argument) {
+        if (argument == null || argument instanceof Number || argument instanceof String || argument instanceof Boolean) {
+            return argument;
+        }
+        if (argument instanceof CustomerCommand command) {
+            return project(command);
+        }
+        if (argument instanceof CustomerPatch patch) {
+            return project(patch);
+        }
+        if (argument instanceof CustomerFilter filter) {
+            return project(filter);
+        }
+        if (argument instanceof Collection<?> items) {
+            return Map.of("size", items.size());
+        }
+        return argument.getClass().getSimpleName();
+    }
+
+    private static Map<String, Object> project(CustomerCommand command) {
+        // unset fields are left out
+        Map<String, Object> projection = new LinkedHashMap<>(8);
+        putIfNotNull(projection, "name", command.getName());
+        putIfNotNull(projection, "age", command.getAge());
+        putIfNotNull(projection, "dateOfBirth", command.getDateOfBirth() == null ? null : command.getDateOfBirth().toString());
+        putIfNotNull(projection, "address", command.getAddress());
+        putIfNotNull(projection, "gender", command.getGender());
+        return projection;
+    }
+
+    private static Map<String, Object> project(CustomerPatch patch) {
+        // explicit nulls are kept, they clear the field
+        Map<String, Object> projection = new LinkedHashMap<>(8);
+        for (Map.Entry<String, JsonNode> field : patch.getFields().entrySet()) {
+            JsonNode value = field.getValue();
+            projection.put(field.getKey(), value.isNull() ? null : value.isNumber() ? value.numberValue() : value.asText());
+        }
+        return projection;
+    }
+
+    private static Map<String, Object> project(CustomerFilter filter) {
+        Map<String, Object> projection = new LinkedHashMap<>(8);
+        putIfNotNull(projection, "namePrefix", filter.getNamePrefix());
+        putIfNotNull(projection, "minAge", filter.getMinAge());
+        putIfNotNull(projection, "maxAge", filter.getMaxAge());
+        putIfNotNull(projection, "bornFrom", filter.getBornFrom() == null ? null : filter.getBornFrom().toString());
+        putIfNotNull(projection, "bornTo", filter.getBornTo() == null ? null : filter.getBornTo().toString());
+        putIfNotNull(projection, "gender", filter.getGender());
+        putIfNotNull(projection, "address", filter.getAddress());
+        return projection;
+    }
+
+    private static void putIfNotNull(Map<String, Object> projection, String key, Object value) {
+        if (value != null) {
+            projection.put(key, value);
+        }
+    }
+}
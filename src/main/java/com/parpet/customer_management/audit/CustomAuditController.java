@@ -1,8 +1,12 @@
 package com.parpet.customer_management.audit;
 
+import com.parpet.customer_management.audit.dto.AuditEventFilter;
 import com.parpet.customer_management.dto.incoming.QueryDto;
+import com.parpet.customer_management.dto.incoming.TotalCountMode;
+import com.parpet.customer_management.dto.outgoing.CursorPage;
 import org.springframework.boot.actuate.audit.AuditEvent;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,6 +14,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Instant;
+
 @RestController
 @RequestMapping("/actuator/auditevents/pageable")
 public class CustomAuditController {
@@ -20,16 +26,47 @@ public class CustomAuditController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<AuditEvent>> getCustomers(
+    public ResponseEntity<Slice<AuditEvent>> getCustomers(
             @RequestParam(name = "page", defaultValue = "0") Integer page,
             @RequestParam(name = "size", defaultValue = "100") Integer size,
-            @RequestParam(name = "sort", defaultValue = "[{\"field\":\"timestamp\",\"direction\":\"DESC\"}]") String sort
+            @RequestParam(name = "sort", defaultValue = "[{\"field\":\"timestamp\",\"direction\":\"DESC\"}]") String sort,
+            @RequestParam(name = "total", defaultValue = "exact") String total,
+            @RequestParam(name = "principal", required = false) String principal,
+            @RequestParam(name = "type", required = false) String type,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to
     ) {
-        Page<AuditEvent> auditEvents = customAuditService.getAuditEvents(QueryDto.builder()
+        Slice<AuditEvent> auditEvents = customAuditService.getAuditEvents(QueryDto.builder()
                 .page(page)
                 .size(size)
                 .sort(sort)
-                .build());
+                .build(), AuditEventFilter.builder()
+                .principal(principal)
+                .type(type)
+                .from(from)
+                .to(to)
+                .build(), TotalCountMode.of(total));
+
+        return new ResponseEntity<>(auditEvents, HttpStatus.OK);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<AuditEvent>> getAuditEventsAfter(
+            @RequestParam(name = "cursor") String cursor,
+            @RequestParam(name = "size", defaultValue = "100") Integer size,
+            @RequestParam(name = "principal", required = false) String principal,
+            @RequestParam(name = "type", required = false) String type,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to
+    ) {
+        CursorPage<AuditEvent> auditEvents = customAuditService.getAuditEventsAfter(QueryDto.builder()
+                .size(size)
+                .build(), AuditEventFilter.builder()
+                .principal(principal)
+                .type(type)
+                .from(from)
+                .to(to)
+                .build(), cursor);
 
         return new ResponseEntity<>(auditEvents, HttpStatus.OK);
     }
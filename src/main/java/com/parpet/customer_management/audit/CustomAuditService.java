@@ -1,29 +1,63 @@
 package com.parpet.customer_management.audit;
 
+import com.parpet.customer_management.audit.dto.AuditEventFilter;
 import com.parpet.customer_management.dto.incoming.QueryDto;
+import com.parpet.customer_management.dto.incoming.TotalCountMode;
+import com.parpet.customer_management.dto.outgoing.CursorPage;
 import com.parpet.customer_management.util.JsonUtils;
+import com.parpet.customer_management.util.SortSpecCompiler;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.actuate.audit.AuditEvent;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+// read-only: the queries are served by a replica when replica-routing is enabled
 @Service
-@Transactional
+@Transactional(readOnly = true)
 @Slf4j
 public class CustomAuditService {
     private final PersistentAuditEventRepository persistentAuditEventRepository;
+    private final AuditEventCountEstimator auditEventCountEstimator;
 
-    public CustomAuditService(@Qualifier("persistentAuditEventRepository") PersistentAuditEventRepository persistentAuditEventRepository) {
+    public CustomAuditService(@Qualifier("persistentAuditEventRepository") PersistentAuditEventRepository persistentAuditEventRepository,
+                              AuditEventCountEstimator auditEventCountEstimator) {
         this.persistentAuditEventRepository = persistentAuditEventRepository;
+        this.auditEventCountEstimator = auditEventCountEstimator;
     }
 
-    public Page<AuditEvent> getAuditEvents(QueryDto queryDto) {
+    public Page<AuditEvent> getAuditEvents(QueryDto queryDto, AuditEventFilter filter) {
         // parse and create sort orders
-        PageRequest pageRequest = JsonUtils.jsonStringToPageRequest(queryDto);
+        PageRequest pageRequest = JsonUtils.jsonStringToPageRequest(queryDto, SortSpecCompiler.AUDIT_EVENT);
 
-        return persistentAuditEventRepository.find_ordered(pageRequest);
+        return persistentAuditEventRepository.find_ordered(filter, pageRequest);
+    }
+
+    public Slice<AuditEvent> getAuditEvents(QueryDto queryDto, AuditEventFilter filter, TotalCountMode totalCountMode) {
+        // the estimate covers the whole table, a bounded range is counted exactly (only its partitions are scanned)
+        if (totalCountMode == TotalCountMode.EXACT
+                || (totalCountMode == TotalCountMode.APPROXIMATE && !filter.isUnrestricted())) {
+            return getAuditEvents(queryDto, filter);
+        }
+
+        PageRequest pageRequest = JsonUtils.jsonStringToPageRequest(queryDto, SortSpecCompiler.AUDIT_EVENT);
+        Slice<AuditEvent> slice = persistentAuditEventRepository.find_sliced(filter, pageRequest);
+        if (totalCountMode == TotalCountMode.NONE) {
+            return slice;
+        }
+
+        // the estimate lags behind the table: never report fewer elements than this page proves to exist,
+        // otherwise PageImpl would cut the total to the current page and a full page would claim to be the last
+        long seen = pageRequest.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        return new PageImpl<>(slice.getContent(), pageRequest, Math.max(auditEventCountEstimator.estimate(), seen));
+    }
+
+    // READ (keyset)
+    public CursorPage<AuditEvent> getAuditEventsAfter(QueryDto queryDto, AuditEventFilter filter, String cursor) {
+        return persistentAuditEventRepository.find_after(filter, cursor, queryDto.getSize());
     }
 }
@@ -1,15 +1,21 @@
 package com.parpet.customer_management.audit;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.parpet.customer_management.audit.dto.CustomerAuditEventCommand;
+import com.parpet.customer_management.model.Customer;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.Instant;
 
@@ -20,33 +26,43 @@ import java.time.Instant;
 public class CustomerAuditAspect {
 
     private final CustomerAuditEventPublisher auditEventPublisher;
-    private final ObjectMapper objectMapper;
 
-    @Around("execution(* com.parpet.customer_management.controller.CustomerController.*(..))")
+    // the delete by filter publishes its own aggregated event from CustomerBatchService
+    @Around("execution(* com.parpet.customer_management.controller.CustomerController.*(..))"
+            + " && !execution(* com.parpet.customer_management.controller.CustomerController.deleteCustomers(..))")
     public Object auditCustomerOperations(ProceedingJoinPoint joinPoint) throws Throwable {
         String methodName = joinPoint.getSignature().getName();
         Object[] args = joinPoint.getArgs();
 
         try {
             Object result = joinPoint.proceed();
-            publishSuccessAudit(methodName, args);
+            publishSuccessAudit(methodName, args, result);
             return result;
         } catch (EntityNotFoundException ex) {
             publishNotFoundError(methodName, extractCustomerId(args));
             throw ex;
+        } catch (OptimisticLockingFailureException ex) {
+            // answered with 412 or 409 by GlobalExceptionHandler, on the same condition
+            publishError(methodName, args, isConditional() ? "PRECONDITION_FAILED" : "CONFLICT");
+            throw ex;
         } catch (Exception ex) {
-            if (!(ex instanceof MethodArgumentNotValidException)) {
-                publishGeneralError(methodName, args);
+            // validation errors are audited by GlobalExceptionHandler
+            if (!(ex instanceof MethodArgumentNotValidException) && !(ex instanceof ConstraintViolationException)) {
+                publishError(methodName, args, "GENERAL_ERROR");
             }
             throw ex;
         }
     }
 
-    private void publishSuccessAudit(String methodName, Object[] args) {
+    private void publishSuccessAudit(String methodName, Object[] args, Object result) {
         try {
             String operation = determineOperation(methodName);
             Long customerId = extractCustomerId(args);
-            String request = args.length > 0 ? objectMapper.writeValueAsString(args[0]) : null;
+            if (customerId == null && result instanceof ResponseEntity<?> response && response.getBody() instanceof Customer customer) {
+                // create: the id is only known once the customer is saved
+                customerId = customer.getId();
+            }
+            Object request = AuditPayloads.request(args);
 
             auditEventPublisher.publishAuditEvent(CustomerAuditEventCommand.builder()
                     .action(operation)
@@ -60,6 +76,11 @@ public class CustomerAuditAspect {
         }
     }
 
+    private static boolean isConditional() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && attributes.getRequest().getHeader(HttpHeaders.IF_MATCH) != null;
+    }
+
     private Long extractCustomerId(Object[] args) {
         if (args.length > 0 && args[0] instanceof Long) {
             return (Long) args[0];
@@ -71,7 +92,10 @@ public class CustomerAuditAspect {
         return switch (methodName) {
             case "createCustomer" -> "CREATE_CUSTOMER";
             case "updateCustomer" -> "UPDATE_CUSTOMER";
+            case "patchCustomer" -> "PATCH_CUSTOMER";
             case "deleteCustomer" -> "DELETE_CUSTOMER";
+            case "getCustomer" -> "GET_CUSTOMER";
+            case "getCustomers", "getCustomersAfter" -> "LIST_CUSTOMERS";
             default -> "UNKNOWN_OPERATION";
         };
     }
@@ -83,7 +107,7 @@ public class CustomerAuditAspect {
             auditEventPublisher.publishAuditEvent(CustomerAuditEventCommand.builder()
                     .action(operation)
                     .customerId(aLong)
-                    .request(aLong.toString())
+                    .request(aLong)
                     .status("NOT_FOUND")
                     .timestamp(Instant.now())
                     .build());
@@ -92,21 +116,21 @@ public class CustomerAuditAspect {
         }
     }
 
-    private void publishGeneralError(String methodName, Object[] args) {
+    private void publishError(String methodName, Object[] args, String status) {
         try {
             String operation = determineOperation(methodName);
             Long customerId = extractCustomerId(args);
-            String request = args.length > 0 ? objectMapper.writeValueAsString(args[0]) : null;
+            Object request = AuditPayloads.request(args);
 
             auditEventPublisher.publishAuditEvent(CustomerAuditEventCommand.builder()
                     .action(operation)
                     .customerId(customerId)
                     .request(request)
-                    .status("GENERAL_ERROR")
+                    .status(status)
                     .timestamp(Instant.now())
                     .build());
         } catch (Exception ex) {
-            log.error("Error publishing general error: ", ex);
+            log.error("Error publishing {} audit: ", status, ex);
         }
     }
 }
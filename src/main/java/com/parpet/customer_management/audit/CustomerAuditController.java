@@ -0,0 +1,53 @@
+package com.parpet.customer_management.audit;
+
+import com.parpet.customer_management.audit.dto.AuditEventFilter;
+import com.parpet.customer_management.dto.incoming.QueryDto;
+import com.parpet.customer_management.dto.outgoing.CursorPage;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+
+/**
+ * Change history of one customer, newest first. Also answers for deleted customers, their
+ * history is kept, so an unknown id gives an empty page instead of 404.
+ */
+@RestController
+@RequestMapping("/api/customers/{id}/audit")
+public class CustomerAuditController {
+    private final CustomAuditService customAuditService;
+
+    public CustomerAuditController(CustomAuditService customAuditService) {
+        this.customAuditService = customAuditService;
+    }
+
+    @GetMapping
+    public ResponseEntity<CursorPage<AuditEvent>> getCustomerAuditEvents(
+            @PathVariable("id") Long id,
+            @RequestParam(name = "cursor", defaultValue = "") String cursor,
+            @RequestParam(name = "size", defaultValue = "20") Integer size,
+            @RequestParam(name = "type", required = false) String type,
+            @RequestParam(name = "status", required = false) String status,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to
+    ) {
+        CursorPage<AuditEvent> auditEvents = customAuditService.getAuditEventsAfter(QueryDto.builder()
+                .size(size)
+                .build(), AuditEventFilter.builder()
+                .customerId(id)
+                .type(type)
+                .status(status)
+                .from(from)
+                .to(to)
+                .build(), cursor);
+
+        return new ResponseEntity<>(auditEvents, HttpStatus.OK);
+    }
+}
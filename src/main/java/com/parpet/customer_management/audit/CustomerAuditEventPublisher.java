@@ -1,6 +1,8 @@
 package com.parpet.customer_management.audit;
 
 import com.parpet.customer_management.audit.dto.CustomerAuditEventCommand;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.actuate.audit.AuditEvent;
@@ -9,19 +11,28 @@ import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class CustomerAuditEventPublisher {
     private final AuditEventRepository auditEventRepository;
+    private final MeterRegistry meterRegistry;
+    // one counter per (action, status); looked up here instead of through the registry on every event
+    private final Map<OutcomeKey, Counter> outcomeCounters = new ConcurrentHashMap<>();
 
     @Autowired
-    public CustomerAuditEventPublisher(@Qualifier("persistentAuditEventRepository")AuditEventRepository auditEventRepository){
+    public CustomerAuditEventPublisher(@Qualifier("persistentAuditEventRepository")AuditEventRepository auditEventRepository,
+                                       MeterRegistry meterRegistry){
         this.auditEventRepository = auditEventRepository;
+        this.meterRegistry = meterRegistry;
     }
 
     public void publishAuditEvent(CustomerAuditEventCommand customerAuditEventCommand) {
         Map<String, Object> data = new HashMap<>();
         data.put("customerId", customerAuditEventCommand.getCustomerId());
+        if (customerAuditEventCommand.getCustomerIds() != null) {
+            data.put("customerIds", customerAuditEventCommand.getCustomerIds());
+        }
         data.put("request", customerAuditEventCommand.getRequest());
         data.put("status", customerAuditEventCommand.getStatus());
 
@@ -32,6 +43,24 @@ public class CustomerAuditEventPublisher {
                 data
         );
 
+        // counted before storing, so the outcome is seen even if the audit INSERT fails
+        countOutcome(customerAuditEventCommand.getAction(), customerAuditEventCommand.getStatus());
         auditEventRepository.add(auditEvent);
     }
-} 
\ No newline at end of file
+
+    private void countOutcome(String action, String status) {
+        OutcomeKey key = new OutcomeKey(String.valueOf(action), String.valueOf(status));
+        Counter counter = outcomeCounters.get(key);
+        if (counter == null) {
+            counter = outcomeCounters.computeIfAbsent(key, k -> Counter.builder("customer.audit.events")
+                    .description("Published customer audit events by operation and outcome")
+                    .tag("action", k.action())
+                    .tag("status", k.status())
+                    .register(meterRegistry));
+        }
+        counter.increment();
+    }
+
+    private record OutcomeKey(String action, String status) {
+    }
+}
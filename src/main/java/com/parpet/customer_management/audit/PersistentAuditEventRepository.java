@@ -1,14 +1,21 @@
 package com.parpet.customer_management.audit;
 
+import com.parpet.customer_management.audit.dto.AuditEventFilter;
+import com.parpet.customer_management.audit.journal.AuditJournal;
 import com.parpet.customer_management.audit.model.AuditEventEntity;
 import com.parpet.customer_management.audit.repository.AuditEventEntityRepository;
+import com.parpet.customer_management.audit.repository.AuditEventSpecifications;
+import com.parpet.customer_management.audit.writebehind.AuditWriteBehindProcessor;
+import com.parpet.customer_management.dto.outgoing.CursorPage;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.audit.AuditEvent;
 import org.springframework.boot.actuate.audit.AuditEventRepository;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,28 +24,49 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
-@Transactional
 @Slf4j
 public class PersistentAuditEventRepository implements AuditEventRepository {
+    // upper bound of the unpaged actuator endpoint, the filters are applied before it
+    private static final int FIND_LIMIT = 100;
+
     private final AuditEventEntityRepository auditEventEntityRepository;
+    private final AuditWriteBehindProcessor writeBehindProcessor;
+    private final AuditJournal journal;
 
     @Autowired
-    public PersistentAuditEventRepository(AuditEventEntityRepository auditEventEntityRepository) {
+    public PersistentAuditEventRepository(AuditEventEntityRepository auditEventEntityRepository,
+                                          ObjectProvider<AuditWriteBehindProcessor> writeBehindProcessor,
+                                          ObjectProvider<AuditJournal> journal) {
         this.auditEventEntityRepository = auditEventEntityRepository;
+        this.writeBehindProcessor = writeBehindProcessor.getIfAvailable();
+        this.journal = journal.getIfAvailable();
+        if (this.writeBehindProcessor != null && this.journal != null) {
+            throw new IllegalStateException("audit.write-behind and audit.journal can not be enabled together");
+        }
     }
 
+    // not transactional: opening a transaction checks out a connection first, so with the database
+    // slow or down the journal and write-behind paths would wait for the pool like a direct save.
+    // Only the direct save runs in a transaction (the caller's, or the repository's own).
     @Override
-    @Transactional
+    @Timed(value = "audit.repository", extraTags = {"operation", "add"}, histogram = true)
     public void add(AuditEvent event) {
-        try {
-            AuditEventEntity entity = new AuditEventEntity();
-            entity.setPrincipal(event.getPrincipal());
-            entity.setType(event.getType());
-            entity.setTimestamp(event.getTimestamp());
-            entity.setData(event.getData());
+        if (writeBehindProcessor != null) {
+            writeBehindProcessor.submit(event);
+            return;
+        }
+        if (journal != null) {
+            try {
+                journal.append(event);
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to append audit event to the journal, saving it directly: {}", e.getMessage(), e);
+            }
+        }
 
-            auditEventEntityRepository.save(entity);
-            log.info("Audit event saved successfully: {}", event.getType());
+        try {
+            auditEventEntityRepository.save(AuditEventEntity.from(event));
+            log.debug("Audit event saved successfully: {}", event.getType());
         } catch (Exception e) {
             log.error("Failed to save audit event: {}", e.getMessage(), e);
             throw e;
@@ -49,19 +77,44 @@ public class PersistentAuditEventRepository implements AuditEventRepository {
     @Override
     @Transactional(readOnly = true)
     public List<AuditEvent> find(String principal, Instant after, String type) {
-        return auditEventEntityRepository.findAuditEvents(principal, after, type)
+        return auditEventEntityRepository.findAuditEvents(principal, after, type, FIND_LIMIT)
                 .stream()
                 .map(this::convertToAuditEvent)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
-    public Page<AuditEvent> find_ordered(Pageable pageable) {
-        List<AuditEvent> auditEvents = auditEventEntityRepository.findAll(pageable)
-                .stream()
-                .map(this::convertToAuditEvent)
-                .collect(Collectors.toList());
-        return new PageImpl<>(auditEvents, pageable, auditEventEntityRepository.count());
+    @Timed(value = "audit.repository", extraTags = {"operation", "find_ordered"}, histogram = true)
+    public Page<AuditEvent> find_ordered(AuditEventFilter filter, Pageable pageable) {
+        // the count query gets the same bounds, so it only scans the matching partitions too
+        return auditEventEntityRepository.findAll(AuditEventSpecifications.matching(filter), pageable)
+                .map(this::convertToAuditEvent);
+    }
+
+    @Transactional(readOnly = true)
+    @Timed(value = "audit.repository", extraTags = {"operation", "find_sliced"}, histogram = true)
+    public Slice<AuditEvent> find_sliced(AuditEventFilter filter, Pageable pageable) {
+        return auditEventEntityRepository.findSlice(AuditEventSpecifications.matching(filter), pageable)
+                .map(this::convertToAuditEvent);
+    }
+
+    @Transactional(readOnly = true)
+    @Timed(value = "audit.repository", extraTags = {"operation", "find_keyset"}, histogram = true)
+    public CursorPage<AuditEvent> find_after(AuditEventFilter filter, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+        AuditEventKeyset.Key after = AuditEventKeyset.decode(cursor);
+
+        List<AuditEventEntity> entities = auditEventEntityRepository.findPageAfter(AuditEventSpecifications.matching(filter),
+                after == null ? null : after.timestamp(), after == null ? null : after.id(), size + 1);
+        boolean hasNext = entities.size() > size;
+        if (hasNext) {
+            entities = entities.subList(0, size);
+        }
+
+        return new CursorPage<>(entities.stream().map(this::convertToAuditEvent).toList(), size, hasNext,
+                hasNext ? AuditEventKeyset.encode(entities.get(size - 1)) : null);
     }
 
     private AuditEvent convertToAuditEvent(AuditEventEntity entity) {
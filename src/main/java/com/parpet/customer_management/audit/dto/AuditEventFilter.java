@@ -0,0 +1,33 @@
+package com.parpet.customer_management.audit.dto;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Optional filter of the pageable audit event endpoint. The time range is half-open,
+ * {@code from <= timestamp < to}, the same way the audit_events partitions are bounded.
+ * Principal, type, customerId and status are exact matches, each backed by a (column, timestamp) index.
+ */
+@Getter
+@Builder
+@EqualsAndHashCode
+@ToString
+public class AuditEventFilter {
+    public static final AuditEventFilter NONE = AuditEventFilter.builder().build();
+
+    private final String principal;
+    private final String type;
+    private final Long customerId;
+    private final String status;
+    private final Instant from;
+    private final Instant to;
+
+    public boolean isUnrestricted() {
+        return principal == null && type == null && customerId == null && status == null
+                && from == null && to == null;
+    }
+}
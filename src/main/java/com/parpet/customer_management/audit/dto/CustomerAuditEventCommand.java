@@ -3,13 +3,21 @@ package com.parpet.customer_management.audit.dto;
 import lombok.Builder;
 import lombok.Data;
 import java.time.Instant;
+import java.util.List;
 
 @Data
 @Builder
 public class CustomerAuditEventCommand {
     private String action;
     private Long customerId;
-    private String request;
+    /**
+     * Set instead of customerId when one event covers a whole chunk of a batch operation.
+     */
+    private List<Long> customerIds;
+    /**
+     * Structured projection of the request (see AuditPayloads), stored as is in the jsonb data.
+     */
+    private Object request;
     private String status;
     private Instant timestamp;
 } 
\ No newline at end of file
@@ -0,0 +1,447 @@
+package com.parpet.customer_management.audit.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only local journal of audit events in memory-mapped segment files. An append is a copy
+ * into the mapped segment, no system call, so the request thread does not depend on the database.
+ * <p>
+ * Positions are logical offsets: a segment covers {@code [base, base + size)} and the next segment
+ * starts at the end of the previous one, so a record that does not fit skips the rest of the segment.
+ * The offset up to which events have been shipped to audit_events is stored in a checkpoint file;
+ * everything after it is read again after a restart (at-least-once). Fully shipped segments are deleted.
+ * The segments together can take at most {@code max-size}, an append that would need one more throws.
+ * <p>
+ * A damaged record is not an error of {@link #read}: it is returned as a corrupt {@link Entry} that
+ * spans up to the next readable position, so the forwarder can dead-letter it and move on.
+ * <p>
+ * Single writer (appends are serialized by a lock, not a monitor, so a virtual thread waiting for it
+ * does not pin its carrier), single reader (the forwarder). The reader only reads below
+ * {@link #writeOffset}, which is published after the record bytes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "audit.journal", name = "enabled", havingValue = "true")
+public class AuditJournal {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "committed.offset";
+    private static final String DEAD_LETTER_FILE = "dead-letter.jsonl";
+    private static final int HEADER_SIZE = AuditJournalRecordCodec.HEADER_SIZE;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxSegments;
+    private final FsyncPolicy fsyncPolicy;
+    private final Duration fsyncInterval;
+    private final AuditJournalRecordCodec codec;
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private volatile Segment active;
+    private volatile long writeOffset;
+    private volatile long committedOffset;
+    private ScheduledExecutorService flusher;
+
+    public AuditJournal(AuditJournalProperties properties, ObjectMapper objectMapper) {
+        this.directory = properties.getDirectory();
+        this.segmentSize = Math.toIntExact(properties.getSegmentSize().toBytes());
+        if (properties.getMaxSize().toBytes() < segmentSize) {
+            throw new IllegalArgumentException("audit.journal.max-size must be at least one segment-size");
+        }
+        this.maxSegments = properties.getMaxSize().toBytes() / segmentSize;
+        this.fsyncPolicy = properties.getFsyncPolicy();
+        this.fsyncInterval = properties.getFsyncInterval();
+        this.codec = new AuditJournalRecordCodec(objectMapper);
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        committedOffset = readCheckpoint();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(AuditJournal::isSegment).toList()) {
+                if (Files.size(file) == 0) {
+                    // crashed between creating and sizing the file, nothing was written to it
+                    Files.delete(file);
+                    continue;
+                }
+                Segment segment = Segment.open(baseOffset(file), file, 0);
+                segments.put(segment.base, segment);
+            }
+        }
+
+        if (segments.isEmpty()) {
+            active = createSegment(committedOffset);
+            writeOffset = committedOffset;
+        } else {
+            active = segments.lastEntry().getValue();
+            writeOffset = active.base + recover(active);
+            deleteShippedSegments();
+            // checkpoint older than the oldest segment (or lost): start with what is there
+            committedOffset = Math.max(committedOffset, segments.firstKey());
+            if (committedOffset > writeOffset) {
+                // without EVERY_WRITE the checkpoint can reach the disk before the records it covers
+                // (power loss); appending below it would put new records where they are never read
+                log.warn("Audit journal {} ends at offset {} below the checkpoint {}, continuing at the checkpoint",
+                        directory, writeOffset, committedOffset);
+                if (committedOffset >= active.base + active.size) {
+                    active = createSegment(committedOffset);
+                }
+                writeOffset = committedOffset;
+                deleteShippedSegments();
+            }
+        }
+
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "audit-journal-fsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long intervalNanos = fsyncInterval.toNanos();
+            flusher.scheduleWithFixedDelay(this::flush, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        }
+
+        if (writeOffset > committedOffset) {
+            log.info("Audit journal {} has unshipped events from offset {} to {}, they will be replayed",
+                    directory, committedOffset, writeOffset);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        appendLock.lock();
+        try {
+            flush();
+            for (Segment segment : segments.values()) {
+                segment.channel.close();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * @return the offset of the appended record
+     */
+    public long append(AuditEvent event) {
+        byte[] record = codec.encode(event);
+        if (record.length > segmentSize) {
+            throw new IllegalArgumentException("Audit event of " + record.length + " bytes exceeds the journal segment size");
+        }
+
+        Segment segment;
+        int position;
+        appendLock.lock();
+        try {
+            position = (int) (writeOffset - active.base);
+            if (active.size - position < record.length) {
+                if (segments.size() >= maxSegments) {
+                    throw new IllegalStateException("Audit journal " + directory + " is full, " + segments.size()
+                            + " segments are waiting to be shipped");
+                }
+                active = createSegment(active.base + active.size);
+                position = 0;
+            }
+
+            segment = active;
+            segment.buffer.put(position, record);
+            writeOffset = segment.base + position + record.length;
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (fsyncPolicy == FsyncPolicy.EVERY_WRITE) {
+            // outside of the lock: concurrent appends are copied meanwhile, only this caller waits for the disk
+            segment.buffer.force(position, record.length);
+        }
+        return segment.base + position;
+    }
+
+    /**
+     * Reads at most {@code maxEntries} records starting at {@code fromOffset}, which has to be a record
+     * boundary ({@link #getCommittedOffset()} or the {@link Entry#nextOffset()} of a previous entry).
+     * A record with a bad checksum or payload is returned as a corrupt entry; one with an unreadable
+     * length (or a missing segment) as a corrupt entry up to the next position that can be read.
+     */
+    public List<Entry> read(long fromOffset, int maxEntries) {
+        List<Entry> entries = new ArrayList<>(Math.min(maxEntries, 64));
+        long end = writeOffset;
+        long offset = fromOffset;
+
+        while (entries.size() < maxEntries && offset < end) {
+            Map.Entry<Long, Segment> floor = segments.floorEntry(offset);
+            if (floor == null) {
+                // the segment file was removed from under the journal
+                long nextOffset = segments.firstKey();
+                entries.add(Entry.corrupt(offset, nextOffset, "segment is missing", null));
+                offset = nextOffset;
+                continue;
+            }
+            Segment segment = floor.getValue();
+            int position = (int) (offset - segment.base);
+
+            int length = position > segment.size - HEADER_SIZE ? 0 : segment.buffer.getInt(position);
+            if (length == 0) {
+                // rest of a sealed segment, the writer continued in the next one
+                offset = segment.base + segment.size;
+                continue;
+            }
+            if (length < 0 || length > segment.size - position - HEADER_SIZE) {
+                // the next record boundary of this segment is lost with the length
+                long nextOffset = Math.min(segment.base + segment.size, end);
+                entries.add(Entry.corrupt(offset, nextOffset, "invalid record length " + length, null));
+                offset = nextOffset;
+                continue;
+            }
+
+            byte[] payload = new byte[length];
+            segment.buffer.get(position + HEADER_SIZE, payload);
+            long nextOffset = offset + HEADER_SIZE + length;
+            if (AuditJournalRecordCodec.checksum(payload, 0, length) != segment.buffer.getInt(position + Integer.BYTES)) {
+                entries.add(Entry.corrupt(offset, nextOffset, "checksum mismatch", payload));
+            } else {
+                entries.add(decode(offset, nextOffset, payload));
+            }
+            offset = nextOffset;
+        }
+        return entries;
+    }
+
+    /**
+     * Marks everything before {@code offset} as shipped and deletes the segments that became obsolete.
+     */
+    public void commit(long offset) {
+        try {
+            writeCheckpoint(offset);
+            committedOffset = offset;
+            deleteShippedSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Audit journal checkpoint could not be written", e);
+        }
+    }
+
+    /**
+     * Appends a record that can not be shipped (corrupt, or rejected by the database) to
+     * dead-letter.jsonl next to the segments, one JSON object per line, to be inspected or replayed by hand.
+     * Called by the single reader before it commits past the record.
+     */
+    public void deadLetter(Entry entry, String reason) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("offset", entry.offset());
+        line.put("reason", reason);
+        if (entry.isCorrupt()) {
+            line.put("payload", entry.payload() == null ? null : Base64.getEncoder().encodeToString(entry.payload()));
+        } else {
+            AuditEvent event = entry.event();
+            line.put("timestamp", event.getTimestamp().toString());
+            line.put("principal", event.getPrincipal());
+            line.put("type", event.getType());
+            line.put("data", event.getData());
+        }
+
+        try (FileChannel channel = FileChannel.open(directory.resolve(DEAD_LETTER_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap((objectMapper.writeValueAsString(line) + "\n").getBytes(StandardCharsets.UTF_8)));
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Audit journal dead letter could not be written", e);
+        }
+    }
+
+    public long getCommittedOffset() {
+        return committedOffset;
+    }
+
+    public long getWriteOffset() {
+        return writeOffset;
+    }
+
+    void flush() {
+        for (Segment segment : segments.values()) {
+            segment.buffer.force();
+        }
+    }
+
+    /**
+     * Finds the end of the valid records of the last segment. A record cut short by a crash
+     * (bad length or checksum) and anything after it is zeroed, so it is overwritten by the next append.
+     */
+    private int recover(Segment segment) {
+        int position = 0;
+        while (position <= segment.size - HEADER_SIZE) {
+            int length = segment.buffer.getInt(position);
+            if (length <= 0 || length > segment.size - position - HEADER_SIZE) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            segment.buffer.get(position + HEADER_SIZE, payload);
+            if (AuditJournalRecordCodec.checksum(payload, 0, length) != segment.buffer.getInt(position + Integer.BYTES)) {
+                break;
+            }
+            position += HEADER_SIZE + length;
+        }
+
+        if (position <= segment.size - HEADER_SIZE && segment.buffer.getInt(position) != 0) {
+            log.warn("Audit journal segment {} has a torn record at position {}, truncating", segment.path, position);
+            ByteBuffer zeros = ByteBuffer.allocate(64 * 1024);
+            for (int at = position; at < segment.size; at += zeros.capacity()) {
+                segment.buffer.put(at, zeros.array(), 0, Math.min(zeros.capacity(), segment.size - at));
+            }
+            segment.buffer.force();
+        }
+        return position;
+    }
+
+    private Entry decode(long offset, long nextOffset, byte[] payload) {
+        try {
+            return new Entry(offset, nextOffset, codec.decode(payload), null, null);
+        } catch (RuntimeException e) {
+            return Entry.corrupt(offset, nextOffset, "undecodable record: " + e.getMessage(), payload);
+        }
+    }
+
+    private Segment createSegment(long base) {
+        try {
+            Segment segment = Segment.open(base, directory.resolve(segmentFileName(base)), segmentSize);
+            segments.put(base, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Audit journal segment could not be created", e);
+        }
+    }
+
+    private void deleteShippedSegments() throws IOException {
+        for (Segment segment : segments.headMap(active.base).values()) {
+            if (segment.base + segment.size > committedOffset) {
+                break;
+            }
+            segments.remove(segment.base);
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(checkpoint));
+        if (content.remaining() != Long.BYTES + Integer.BYTES
+                || AuditJournalRecordCodec.checksum(content.array(), 0, Long.BYTES) != content.getInt(Long.BYTES)) {
+            log.warn("Audit journal checkpoint {} is unreadable, the whole journal will be replayed", checkpoint);
+            return 0;
+        }
+        return content.getLong(0);
+    }
+
+    private void writeCheckpoint(long offset) throws IOException {
+        ByteBuffer content = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+        content.putLong(offset);
+        content.putInt(AuditJournalRecordCodec.checksum(content.array(), 0, Long.BYTES));
+        content.flip();
+
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(content);
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long baseOffset(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static String segmentFileName(long base) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, base, SEGMENT_SUFFIX);
+    }
+
+    /**
+     * A record of the journal. A corrupt record has no event, only the reason and its raw payload
+     * (null when not even the payload could be located).
+     */
+    public record Entry(long offset, long nextOffset, AuditEvent event, String defect, byte[] payload) {
+
+        static Entry corrupt(long offset, long nextOffset, String defect, byte[] payload) {
+            return new Entry(offset, nextOffset, null, defect, payload);
+        }
+
+        public boolean isCorrupt() {
+            return event == null;
+        }
+    }
+
+    private static final class Segment {
+        private final long base;
+        private final int size;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        private Segment(long base, int size, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.base = base;
+            this.size = size;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Maps an existing segment with its own size, or creates a zero filled one of {@code newSize} bytes.
+         */
+        static Segment open(long base, Path path, int newSize) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            int size = channel.size() > 0 ? Math.toIntExact(channel.size()) : newSize;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new Segment(base, size, path, channel, buffer);
+        }
+    }
+}
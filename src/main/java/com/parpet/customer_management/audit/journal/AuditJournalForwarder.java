@@ -0,0 +1,205 @@
+package com.parpet.customer_management.audit.journal;
+
+import com.parpet.customer_management.audit.writebehind.AuditEventBatchInserter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ships the audit journal to audit_events from a single background thread: reads up to
+ * {@code batch-size} records after the committed offset, inserts them as one JDBC batch and then
+ * commits the offset. When the database is unavailable the batch is retried after
+ * {@code retry-backoff}, the events wait in the journal. A crash between the INSERT and the
+ * commit ships the batch again after restart (at-least-once).
+ * <p>
+ * A batch rejected for any other reason is shipped again event by event, and the events the
+ * database rejects on their own are dead-lettered, as are the corrupt records of the journal, so
+ * a single bad record can not hold up the rest.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "audit.journal", name = "enabled", havingValue = "true")
+public class AuditJournalForwarder {
+    private final AuditJournal journal;
+    private final AuditEventBatchInserter batchInserter;
+    private final AuditJournalProperties properties;
+
+    private final AtomicLong forwardedCount = new AtomicLong();
+    private final AtomicLong failedAttempts = new AtomicLong();
+    private final AtomicLong deadLetteredCount = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread forwarderThread;
+
+    public AuditJournalForwarder(AuditJournal journal, AuditEventBatchInserter batchInserter,
+                                 AuditJournalProperties properties, MeterRegistry meterRegistry) {
+        this.journal = journal;
+        this.batchInserter = batchInserter;
+        this.properties = properties;
+
+        Gauge.builder("audit.journal.backlog", this, AuditJournalForwarder::getBacklogBytes)
+                .description("Bytes appended to the audit journal but not yet shipped")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+        Gauge.builder("audit.journal.failed.attempts", this, AuditJournalForwarder::getFailedAttempts)
+                .description("Failed attempts to ship the audit journal since start")
+                .register(meterRegistry);
+        Gauge.builder("audit.journal.dead.letters", this, AuditJournalForwarder::getDeadLetteredCount)
+                .description("Audit journal records dead-lettered since start")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        forwarderThread = new Thread(this::forwardLoop, "audit-journal-forwarder");
+        forwarderThread.setDaemon(true);
+        forwarderThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(forwarderThread);
+        forwarderThread.join(properties.getShutdownTimeout().toMillis());
+        if (forwarderThread.isAlive()) {
+            log.warn("Audit journal forwarder did not stop within {}", properties.getShutdownTimeout());
+        }
+        // whatever is left is shipped after the next start
+    }
+
+    private void forwardLoop() {
+        long pollNanos = properties.getPollInterval().toNanos();
+        long backoffNanos = properties.getRetryBackoff().toNanos();
+
+        while (running) {
+            try {
+                if (!forwardBatch()) {
+                    LockSupport.parkNanos(pollNanos);
+                }
+            } catch (Exception e) {
+                failedAttempts.incrementAndGet();
+                log.warn("Failed to ship audit journal from offset {}, retrying in {}: {}",
+                        journal.getCommittedOffset(), properties.getRetryBackoff(), e.getMessage());
+                LockSupport.parkNanos(backoffNanos);
+            }
+        }
+    }
+
+    /**
+     * @return whether anything was shipped
+     */
+    private boolean forwardBatch() {
+        List<AuditJournal.Entry> entries = journal.read(journal.getCommittedOffset(), properties.getBatchSize());
+        if (entries.isEmpty()) {
+            return false;
+        }
+
+        List<AuditEvent> events = entries.stream()
+                .filter(entry -> !entry.isCorrupt())
+                .map(AuditJournal.Entry::event)
+                .toList();
+        try {
+            if (!events.isEmpty()) {
+                batchInserter.insertBatch(events);
+            }
+        } catch (RuntimeException e) {
+            if (isUnavailable(e)) {
+                throw e;
+            }
+            failedAttempts.incrementAndGet();
+            log.warn("Audit journal batch from offset {} was rejected, shipping it event by event: {}",
+                    journal.getCommittedOffset(), e.getMessage());
+            forwardOneByOne(entries);
+            return true;
+        }
+
+        entries.stream().filter(AuditJournal.Entry::isCorrupt).forEach(entry -> deadLetter(entry, entry.defect()));
+        journal.commit(entries.get(entries.size() - 1).nextOffset());
+        forwardedCount.addAndGet(events.size());
+        return true;
+    }
+
+    /**
+     * Commits after every record, so when the database goes away halfway only the rest is retried.
+     */
+    private void forwardOneByOne(List<AuditJournal.Entry> entries) {
+        for (AuditJournal.Entry entry : entries) {
+            if (entry.isCorrupt()) {
+                deadLetter(entry, entry.defect());
+            } else {
+                try {
+                    batchInserter.insertBatch(List.of(entry.event()));
+                    forwardedCount.incrementAndGet();
+                } catch (RuntimeException e) {
+                    if (isUnavailable(e)) {
+                        throw e;
+                    }
+                    deadLetter(entry, "rejected: " + e.getMessage());
+                }
+            }
+            journal.commit(entry.nextOffset());
+        }
+    }
+
+    private void deadLetter(AuditJournal.Entry entry, String reason) {
+        journal.deadLetter(entry, reason);
+        deadLetteredCount.incrementAndGet();
+        log.error("Audit journal record at offset {} was dead-lettered: {}", entry.offset(), reason);
+    }
+
+    /**
+     * Whether the failure means the database can not be reached (the batch is retried as a whole
+     * later) rather than that it refused the rows.
+     */
+    private static boolean isUnavailable(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CannotCreateTransactionException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TransientDataAccessException
+                    || cause instanceof JDBCConnectionException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException
+                    || cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getForwardedCount() {
+        return forwardedCount.get();
+    }
+
+    public long getFailedAttempts() {
+        return failedAttempts.get();
+    }
+
+    public long getDeadLetteredCount() {
+        return deadLetteredCount.get();
+    }
+
+    /**
+     * Bytes appended to the journal but not yet shipped (including the unused tails of full segments).
+     */
+    public long getBacklogBytes() {
+        return journal.getWriteOffset() - journal.getCommittedOffset();
+    }
+}
@@ -0,0 +1,52 @@
+package com.parpet.customer_management.audit.journal;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "audit.journal")
+public class AuditJournalProperties {
+    /**
+     * Opt-in switch, when enabled audit events are appended to the local journal and shipped to
+     * audit_events in the background. Can not be combined with audit.write-behind.
+     */
+    private boolean enabled = false;
+
+    private Path directory = Path.of("audit-journal");
+
+    /**
+     * Size of one memory-mapped segment file, also the upper bound of a single record.
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Disk cap of the segments. When the unshipped events would need more, appending fails and the
+     * event is saved to audit_events directly instead.
+     */
+    private DataSize maxSize = DataSize.ofGigabytes(1);
+
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.INTERVAL;
+
+    private Duration fsyncInterval = Duration.ofMillis(100);
+
+    /**
+     * Maximum number of events shipped with one JDBC batch.
+     */
+    private int batchSize = 500;
+
+    /**
+     * How long the forwarder sleeps when it has caught up with the journal.
+     */
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    /**
+     * Pause after a failed shipment (database down), the events stay in the journal meanwhile.
+     */
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,118 @@
+package com.parpet.customer_management.audit.journal;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.actuate.audit.AuditEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary record of the audit journal:
+ * <pre>
+ * int   payload length (&gt; 0, a zero marks the unwritten end of a segment)
+ * int   CRC32C of the payload
+ * long  timestamp epoch seconds
+ * int   timestamp nanos
+ * short principal length, principal UTF-8 bytes
+ * short type length, type UTF-8 bytes
+ * int   data length (-1 for no data), data as JSON
+ * </pre>
+ */
+final class AuditJournalRecordCodec {
+    static final int HEADER_SIZE = 8;
+
+    private static final TypeReference<Map<String, Object>> DATA_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    AuditJournalRecordCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return the whole record, header included
+     */
+    byte[] encode(AuditEvent event) {
+        byte[] principal = utf8(event.getPrincipal());
+        byte[] type = utf8(event.getType());
+        byte[] data = json(event.getData());
+
+        int payloadLength = Long.BYTES + Integer.BYTES
+                + Short.BYTES + principal.length
+                + Short.BYTES + type.length
+                + Integer.BYTES + (data == null ? 0 : data.length);
+
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + payloadLength);
+        record.putInt(payloadLength);
+        record.putInt(0);
+        record.putLong(event.getTimestamp().getEpochSecond());
+        record.putInt(event.getTimestamp().getNano());
+        record.putShort((short) principal.length).put(principal);
+        record.putShort((short) type.length).put(type);
+        if (data == null) {
+            record.putInt(-1);
+        } else {
+            record.putInt(data.length).put(data);
+        }
+
+        record.putInt(Integer.BYTES, checksum(record.array(), HEADER_SIZE, payloadLength));
+        return record.array();
+    }
+
+    AuditEvent decode(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        Instant timestamp = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+        String principal = string(buffer);
+        String type = string(buffer);
+
+        Map<String, Object> data = Map.of();
+        int dataLength = buffer.getInt();
+        if (dataLength >= 0) {
+            try {
+                data = objectMapper.readValue(payload, buffer.position(), dataLength, DATA_TYPE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Audit journal record data could not be read", e);
+            }
+        }
+        return new AuditEvent(timestamp, principal, type, data);
+    }
+
+    static int checksum(byte[] bytes, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Audit principal/type longer than 65535 bytes");
+        }
+        return bytes;
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private byte[] json(Map<String, Object> data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Audit event data could not be serialized", e);
+        }
+    }
+}
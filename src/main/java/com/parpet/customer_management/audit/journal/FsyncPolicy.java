@@ -0,0 +1,18 @@
+package com.parpet.customer_management.audit.journal;
+
+public enum FsyncPolicy {
+    /**
+     * Every appended record is forced to disk before the append returns. Survives an OS crash,
+     * but the request pays for a disk flush.
+     */
+    EVERY_WRITE,
+    /**
+     * Dirty pages are forced every {@code fsync-interval} by a background thread. A process crash
+     * loses nothing (the pages belong to the OS), an OS crash loses at most one interval.
+     */
+    INTERVAL,
+    /**
+     * Flushing is left to the OS.
+     */
+    NONE
+}
@@ -2,20 +2,33 @@ package com.parpet.customer_management.audit.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
+import org.springframework.boot.actuate.audit.AuditEvent;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 @Entity
-@Table(name = "audit_events")
+@Table(name = "audit_events", indexes = {
+        @Index(name = "idx_audit_events_timestamp", columnList = "timestamp"),
+        @Index(name = "idx_audit_events_principal_timestamp_id", columnList = "principal, timestamp, id"),
+        @Index(name = "idx_audit_events_type_timestamp_id", columnList = "type, timestamp, id"),
+        @Index(name = "idx_audit_events_customer_id_timestamp_id", columnList = "customerId, timestamp, id"),
+        @Index(name = "idx_audit_events_status_timestamp_id", columnList = "status, timestamp, id")
+})
 @Data
 @NoArgsConstructor
 public class AuditEventEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_events_seq")
+    @SequenceGenerator(name = "audit_events_seq", sequenceName = "audit_events_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -27,7 +40,56 @@ public class AuditEventEntity {
     @Column(nullable = false)
     private Instant timestamp;
 
+    /**
+     * Copy of data.customerId, null for events not tied to a single customer (e.g. batch chunks).
+     */
+    private Long customerId;
+
+    /**
+     * Copy of data.customerIds, the customers a batch or filter delete chunk touched, so the history
+     * of one customer finds the chunk events too. No foreign key: on a partitioned audit_events the
+     * primary key is (id, timestamp), id alone can not be referenced; the rows of dropped partitions
+     * are removed by the partition maintenance.
+     */
+    @ElementCollection
+    @CollectionTable(name = "audit_event_customers",
+            joinColumns = @JoinColumn(name = "audit_event_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT)),
+            indexes = @Index(name = "idx_audit_event_customers_customer_id", columnList = "customer_id, audit_event_id"))
+    @Column(name = "customer_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Set<Long> customerIds = new HashSet<>();
+
+    /**
+     * Copy of data.status.
+     */
+    private String status;
+
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(columnDefinition = "jsonb")
     private Map<String, Object> data;
-} 
\ No newline at end of file
+
+    public static AuditEventEntity from(AuditEvent event) {
+        AuditEventEntity entity = new AuditEventEntity();
+        entity.setPrincipal(event.getPrincipal());
+        entity.setType(event.getType());
+        entity.setTimestamp(event.getTimestamp());
+        entity.setData(event.getData());
+        if (event.getData() != null) {
+            if (event.getData().get("customerId") instanceof Number customerId) {
+                entity.setCustomerId(customerId.longValue());
+            }
+            if (event.getData().get("customerIds") instanceof Collection<?> customerIds) {
+                for (Object id : customerIds) {
+                    if (id instanceof Number customerId) {
+                        entity.getCustomerIds().add(customerId.longValue());
+                    }
+                }
+            }
+            if (event.getData().get("status") != null) {
+                entity.setStatus(event.getData().get("status").toString());
+            }
+        }
+        return entity;
+    }
+}
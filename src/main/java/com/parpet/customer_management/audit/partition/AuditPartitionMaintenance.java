@@ -0,0 +1,73 @@
+package com.parpet.customer_management.audit.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Keeps the partitions of audit_events in shape: the current and the next {@code premake}
+ * partitions exist, and partitions entirely older than {@code retention} are dropped as a whole
+ * instead of deleting their rows one by one. Runs at startup and then every
+ * {@code maintenance-interval}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "audit.partitioning", name = "enabled", havingValue = "true")
+public class AuditPartitionMaintenance {
+    private final AuditPartitionManager partitionManager;
+    private final AuditPartitionProperties properties;
+
+    private boolean warnedUnpartitioned;
+
+    public AuditPartitionMaintenance(AuditPartitionManager partitionManager, AuditPartitionProperties properties) {
+        this.partitionManager = partitionManager;
+        this.properties = properties;
+    }
+
+    @Scheduled(initialDelayString = "${audit.partitioning.initial-delay:PT0S}",
+            fixedDelayString = "${audit.partitioning.maintenance-interval:PT1H}")
+    void scheduledMaintenance() {
+        try {
+            maintain(Instant.now());
+        } catch (Exception e) {
+            log.error("Audit partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public synchronized void maintain(Instant now) {
+        if (!partitionManager.isPartitioned()) {
+            if (!warnedUnpartitioned) {
+                log.warn("audit_events is not a partitioned table, partition maintenance is skipped");
+                warnedUnpartitioned = true;
+            }
+            return;
+        }
+
+        PartitionPeriod period = properties.getPeriod();
+
+        LocalDate start = period.start(LocalDate.ofInstant(now, ZoneOffset.UTC));
+        for (int i = 0; i <= properties.getPremake(); i++) {
+            LocalDate end = period.next(start);
+            partitionManager.createPartition(period.partitionName(start), toInstant(start), toInstant(end));
+            start = end;
+        }
+
+        Instant cutoff = now.minus(properties.getRetention());
+        for (String name : partitionManager.partitionNames()) {
+            LocalDate partitionStart = period.parseStart(name);
+            if (partitionStart != null && !toInstant(period.next(partitionStart)).isAfter(cutoff)) {
+                partitionManager.dropPartition(name);
+                log.info("Dropped expired audit partition {}", name);
+            }
+        }
+    }
+
+    private static Instant toInstant(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
@@ -0,0 +1,29 @@
+package com.parpet.customer_management.audit.partition;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Database specific DDL for the time range partitions of audit_events. Partition names are
+ * produced by {@link PartitionPeriod}, they are never taken from user input.
+ */
+public interface AuditPartitionManager {
+
+    /**
+     * Whether audit_events is set up for partitioning at all (on PostgreSQL the table has to be
+     * converted first, see db/changes/003_partition_audit_events.sql).
+     */
+    boolean isPartitioned();
+
+    /**
+     * Creates the partition holding {@code from <= timestamp < to}, unless it already exists.
+     */
+    void createPartition(String name, Instant from, Instant to);
+
+    List<String> partitionNames();
+
+    /**
+     * Drops the whole partition with its rows, which is a metadata operation unlike a DELETE.
+     */
+    void dropPartition(String name);
+}
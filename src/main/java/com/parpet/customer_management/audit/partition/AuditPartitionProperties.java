@@ -0,0 +1,28 @@
+package com.parpet.customer_management.audit.partition;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "audit.partitioning")
+public class AuditPartitionProperties {
+    /**
+     * Opt-in switch for the partition maintenance job. On PostgreSQL the table has to be converted
+     * with db/changes/003_partition_audit_events.sql first.
+     */
+    private boolean enabled = false;
+
+    private PartitionPeriod period = PartitionPeriod.MONTHLY;
+
+    /**
+     * Number of future partitions kept ready besides the current one, so inserts never hit a missing range.
+     */
+    private int premake = 3;
+
+    /**
+     * A partition is dropped once its whole range is older than this.
+     */
+    private Duration retention = Duration.ofDays(365);
+}
@@ -0,0 +1,90 @@
+package com.parpet.customer_management.audit.partition;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Range of one audit_events partition. Partitions are aligned to UTC days or months and named
+ * {@code audit_events_p<yyyyMMdd>} or {@code audit_events_p<yyyyMM>} after their first day.
+ */
+public enum PartitionPeriod {
+    DAILY(DateTimeFormatter.ofPattern("yyyyMMdd")) {
+        @Override
+        public LocalDate start(LocalDate day) {
+            return day;
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusDays(1);
+        }
+
+        @Override
+        LocalDate parseSuffix(String suffix) {
+            return LocalDate.parse(suffix, formatter);
+        }
+    },
+    MONTHLY(DateTimeFormatter.ofPattern("yyyyMM")) {
+        @Override
+        public LocalDate start(LocalDate day) {
+            return day.withDayOfMonth(1);
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusMonths(1);
+        }
+
+        @Override
+        LocalDate parseSuffix(String suffix) {
+            return YearMonth.parse(suffix, formatter).atDay(1);
+        }
+    };
+
+    public static final String NAME_PREFIX = "audit_events_p";
+
+    final DateTimeFormatter formatter;
+
+    PartitionPeriod(DateTimeFormatter formatter) {
+        this.formatter = formatter;
+    }
+
+    /**
+     * First day of the partition containing {@code day}.
+     */
+    public abstract LocalDate start(LocalDate day);
+
+    /**
+     * First day of the partition following the one starting at {@code start}.
+     */
+    public abstract LocalDate next(LocalDate start);
+
+    abstract LocalDate parseSuffix(String suffix);
+
+    public String partitionName(LocalDate start) {
+        return NAME_PREFIX + formatter.format(start);
+    }
+
+    /**
+     * First day of the named partition, or {@code null} if the name does not belong to this period
+     * (default partition, partitions left over from a different period setting, etc.).
+     */
+    public LocalDate parseStart(String partitionName) {
+        String name = partitionName.toLowerCase();
+        if (!name.startsWith(NAME_PREFIX)) {
+            return null;
+        }
+        String suffix = name.substring(NAME_PREFIX.length());
+        // DateTimeFormatter accepts longer years, so yyyyMM would also parse a daily suffix
+        if (suffix.length() != formatter.format(LocalDate.EPOCH).length()) {
+            return null;
+        }
+        try {
+            return parseSuffix(suffix);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
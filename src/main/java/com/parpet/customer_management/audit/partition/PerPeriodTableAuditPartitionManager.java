@@ -0,0 +1,43 @@
+package com.parpet.customer_management.audit.partition;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Stand-in for databases without declarative partitioning (H2 in the tests): every period is a
+ * separate, empty table with the columns of audit_events. It exercises the partition lifecycle
+ * (pre-creation and retention) only, rows are still written to and read from audit_events itself.
+ */
+public class PerPeriodTableAuditPartitionManager implements AuditPartitionManager {
+    private static final String TABLES_SQL =
+            "SELECT lower(table_name) FROM information_schema.tables "
+                    + "WHERE table_schema = CURRENT_SCHEMA AND lower(table_name) LIKE '" + PartitionPeriod.NAME_PREFIX + "%'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PerPeriodTableAuditPartitionManager(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean isPartitioned() {
+        return true;
+    }
+
+    @Override
+    public void createPartition(String name, Instant from, Instant to) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " AS SELECT * FROM audit_events WHERE 1 = 0");
+    }
+
+    @Override
+    public List<String> partitionNames() {
+        return jdbcTemplate.queryForList(TABLES_SQL, String.class);
+    }
+
+    @Override
+    public void dropPartition(String name) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+    }
+}
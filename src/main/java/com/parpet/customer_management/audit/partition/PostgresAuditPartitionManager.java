@@ -0,0 +1,50 @@
+package com.parpet.customer_management.audit.partition;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Native declarative partitioning: audit_events is a {@code PARTITION BY RANGE (timestamp)} table,
+ * every period is a partition attached to it. Queries with timestamp bounds only scan the
+ * partitions overlapping the range.
+ */
+public class PostgresAuditPartitionManager implements AuditPartitionManager {
+    private static final String RELKIND_SQL =
+            "SELECT relkind::text FROM pg_class WHERE oid = 'audit_events'::regclass";
+    private static final String PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                    + "WHERE i.inhparent = 'audit_events'::regclass";
+    // ids are handed out in increasing blocks, a link below the smallest remaining id has lost its event
+    private static final String ORPHANED_CUSTOMER_LINKS_SQL =
+            "DELETE FROM audit_event_customers WHERE audit_event_id < (SELECT min(id) FROM audit_events)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostgresAuditPartitionManager(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean isPartitioned() {
+        return "p".equals(jdbcTemplate.queryForObject(RELKIND_SQL, String.class));
+    }
+
+    @Override
+    public void createPartition(String name, Instant from, Instant to) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF audit_events"
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+
+    @Override
+    public List<String> partitionNames() {
+        return jdbcTemplate.queryForList(PARTITIONS_SQL, String.class);
+    }
+
+    @Override
+    public void dropPartition(String name) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+        jdbcTemplate.update(ORPHANED_CUSTOMER_LINKS_SQL);
+    }
+}
@@ -1,22 +1,33 @@
 package com.parpet.customer_management.audit.repository;
 
+import com.parpet.customer_management.audit.dto.AuditEventFilter;
 import com.parpet.customer_management.audit.model.AuditEventEntity;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.time.Instant;
 import java.util.List;
 
-public interface AuditEventEntityRepository extends JpaRepository<AuditEventEntity, Long> {
+public interface AuditEventEntityRepository extends JpaRepository<AuditEventEntity, Long>,
+        JpaSpecificationExecutor<AuditEventEntity>, AuditEventEntityRepositoryCustom {
 
-    @Query("SELECT a FROM AuditEventEntity a ORDER BY a.timestamp DESC LIMIT 100")
-    List<AuditEventEntity> findAuditEvents(
-            @Param("principal") String principal,
-            @Param("after") Instant after,
-            @Param("type") String type
-    );
+    /**
+     * Latest matching events first, at most {@code limit} of them. A null argument does not restrict
+     * the result, so only the supplied columns end up in the WHERE clause and the (principal, timestamp)
+     * or (type, timestamp) index can be used.
+     */
+    default List<AuditEventEntity> findAuditEvents(String principal, Instant after, String type, int limit) {
+        Specification<AuditEventEntity> spec = AuditEventSpecifications.matching(AuditEventFilter.builder()
+                        .principal(principal)
+                        .type(type)
+                        .build())
+                .and(AuditEventSpecifications.after(after));
+
+        return findSlice(spec, PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "timestamp", "id"))).getContent();
+    }
 
     List<AuditEventEntity> findAll(Sort sort);
-} 
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package com.parpet.customer_management.audit.repository;
+
+import com.parpet.customer_management.audit.model.AuditEventEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface AuditEventEntityRepositoryCustom {
+
+    /**
+     * Reads {@code size + 1} matching rows to detect whether there is a next page, without counting.
+     */
+    Slice<AuditEventEntity> findSlice(Specification<AuditEventEntity> specification, Pageable pageable);
+
+    /**
+     * Keyset page in (timestamp DESC, id DESC) order: the first {@code limit} matching rows strictly
+     * after the given key, or from the newest row when {@code afterTimestamp} is null.
+     */
+    List<AuditEventEntity> findPageAfter(Specification<AuditEventEntity> specification,
+                                         Instant afterTimestamp, Long afterId, int limit);
+}
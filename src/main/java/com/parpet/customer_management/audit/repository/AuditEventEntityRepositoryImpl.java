@@ -0,0 +1,73 @@
+package com.parpet.customer_management.audit.repository;
+
+import com.parpet.customer_management.audit.model.AuditEventEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AuditEventEntityRepositoryImpl implements AuditEventEntityRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<AuditEventEntity> findSlice(Specification<AuditEventEntity> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuditEventEntity> query = cb.createQuery(AuditEventEntity.class);
+        Root<AuditEventEntity> root = query.from(AuditEventEntity.class);
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<AuditEventEntity> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public List<AuditEventEntity> findPageAfter(Specification<AuditEventEntity> specification,
+                                                Instant afterTimestamp, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuditEventEntity> query = cb.createQuery(AuditEventEntity.class);
+        Root<AuditEventEntity> root = query.from(AuditEventEntity.class);
+
+        List<Predicate> predicates = new ArrayList<>(2);
+        Predicate filter = specification.toPredicate(root, query, cb);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (afterTimestamp != null) {
+            // (timestamp, id) < (afterTimestamp, afterId); the redundant timestamp <= afterTimestamp bound lets
+            // the (..., timestamp, id) indexes start the scan at the cursor instead of filtering from their head
+            predicates.add(cb.lessThanOrEqualTo(root.get("timestamp"), afterTimestamp));
+            predicates.add(cb.or(
+                    cb.lessThan(root.get("timestamp"), afterTimestamp),
+                    cb.and(cb.equal(root.get("timestamp"), afterTimestamp), cb.lessThan(root.get("id"), afterId))));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.desc(root.get("timestamp")), cb.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
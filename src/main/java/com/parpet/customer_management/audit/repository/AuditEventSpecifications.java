@@ -0,0 +1,77 @@
+package com.parpet.customer_management.audit.repository;
+
+import com.parpet.customer_management.audit.dto.AuditEventFilter;
+import com.parpet.customer_management.audit.model.AuditEventEntity;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles an {@link AuditEventFilter} to a Criteria predicate. The time bounds are plain
+ * comparisons on the partition key, so PostgreSQL prunes the partitions outside the range
+ * (see db/changes/003_partition_audit_events.sql).
+ */
+public class AuditEventSpecifications {
+
+    private AuditEventSpecifications() {
+
+    }
+
+    public static Specification<AuditEventEntity> matching(AuditEventFilter filter) {
+        validate(filter);
+
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (hasText(filter.getPrincipal())) {
+                predicates.add(cb.equal(root.get("principal"), filter.getPrincipal()));
+            }
+            if (hasText(filter.getType())) {
+                predicates.add(cb.equal(root.get("type"), filter.getType()));
+            }
+            if (filter.getCustomerId() != null) {
+                // events of the customer itself, or chunk events listing it in audit_event_customers
+                Subquery<Long> chunks = query.subquery(Long.class);
+                Root<AuditEventEntity> chunk = chunks.from(AuditEventEntity.class);
+                chunks.select(chunk.get("id")).where(cb.equal(chunk.join("customerIds"), filter.getCustomerId()));
+                predicates.add(cb.or(
+                        cb.equal(root.get("customerId"), filter.getCustomerId()),
+                        root.get("id").in(chunks)));
+            }
+            if (hasText(filter.getStatus())) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+
+            if (filter.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("timestamp"), filter.getFrom()));
+            }
+            if (filter.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("timestamp"), filter.getTo()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Events strictly after the given instant, the semantics of {@code AuditEventRepository.find}.
+     */
+    public static Specification<AuditEventEntity> after(Instant after) {
+        return (root, query, cb) -> after == null ? null : cb.greaterThan(root.get("timestamp"), after);
+    }
+
+    private static void validate(AuditEventFilter filter) {
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,38 @@
+package com.parpet.customer_management.audit.writebehind;
+
+import com.parpet.customer_management.audit.model.AuditEventEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Writes audit events in one transaction, flushed as a single JDBC batch
+ * (hibernate.jdbc.batch_size). The ids come from the pooled audit_events_seq,
+ * so Hibernate does not need a round trip per row to learn the generated key.
+ */
+@Component
+public class AuditEventBatchInserter {
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public AuditEventBatchInserter(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void insertBatch(List<AuditEvent> events) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (AuditEvent event : events) {
+                entityManager.persist(AuditEventEntity.from(event));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+}
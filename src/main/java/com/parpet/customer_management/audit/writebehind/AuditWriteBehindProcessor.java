@@ -0,0 +1,194 @@
+package com.parpet.customer_management.audit.writebehind;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Takes audit events off the request thread and writes them in JDBC batches from a single
+ * background thread. A batch is flushed when it reaches {@code batch-size} events or when its
+ * oldest event is older than {@code max-batch-age}, whichever happens first.
+ * <p>
+ * A batch the database rejects is retried one event at a time, so a single bad row does not take
+ * the rest of the batch with it; the events that still fail are logged with their content and
+ * counted in {@link #getFailedCount()}. Events submitted after {@link #stop()} are written on the
+ * calling thread.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "audit.write-behind", name = "enabled", havingValue = "true")
+public class AuditWriteBehindProcessor {
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AuditEventBatchInserter batchInserter;
+    private final AuditWriteBehindProperties properties;
+    private final BoundedAuditEventQueue queue;
+
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong spilledCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    // events the writer already took into its partial batch, so a submit can tell when a batch is full
+    private volatile int pending;
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AuditWriteBehindProcessor(AuditEventBatchInserter batchInserter, AuditWriteBehindProperties properties) {
+        this.batchInserter = batchInserter;
+        this.properties = properties;
+        this.queue = new BoundedAuditEventQueue(properties.getQueueCapacity());
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::writeLoop, "audit-write-behind");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(properties.getShutdownTimeout().toMillis());
+        if (writerThread.isAlive()) {
+            log.warn("Audit write-behind did not finish within {}, {} events left in queue",
+                    properties.getShutdownTimeout(), queue.size());
+            return;
+        }
+        // events offered while the writer did its final drain
+        drainRemaining();
+    }
+
+    public void submit(AuditEvent event) {
+        if (queue.offer(event)) {
+            if (!running) {
+                // stop() may have drained the queue already, nobody else would pick this event up
+                drainRemaining();
+            } else if (queue.size() + pending >= properties.getBatchSize()) {
+                LockSupport.unpark(writerThread);
+            }
+            return;
+        }
+
+        switch (properties.getOverflowPolicy()) {
+            case BLOCK -> block(event);
+            case DROP -> droppedCount.incrementAndGet();
+            case SPILL -> spill(event);
+        }
+    }
+
+    private void block(AuditEvent event) {
+        while (!queue.offer(event)) {
+            if (!running) {
+                // the writer is gone, nobody would ever make room again
+                spill(event);
+                return;
+            }
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+    }
+
+    private void spill(AuditEvent event) {
+        batchInserter.insertBatch(List.of(event));
+        spilledCount.incrementAndGet();
+    }
+
+    private void writeLoop() {
+        int batchSize = properties.getBatchSize();
+        long maxBatchAgeNanos = properties.getMaxBatchAge().toNanos();
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long batchStartedAt = 0;
+
+        while (running) {
+            boolean wasEmpty = batch.isEmpty();
+            queue.drainTo(batch, batchSize - batch.size());
+            pending = batch.size();
+            if (wasEmpty && !batch.isEmpty()) {
+                batchStartedAt = System.nanoTime();
+            }
+
+            long age = System.nanoTime() - batchStartedAt;
+            if (batch.size() >= batchSize || (!batch.isEmpty() && age >= maxBatchAgeNanos)) {
+                flush(batch);
+                pending = 0;
+            } else if (batch.size() + queue.size() >= batchSize) {
+                // filled up by a submit that still saw the old pending count and did not wake us
+                continue;
+            } else {
+                LockSupport.parkNanos(batch.isEmpty() ? maxBatchAgeNanos : maxBatchAgeNanos - age);
+            }
+        }
+
+        // shutdown: write everything that was accepted before stop()
+        do {
+            flush(batch);
+        } while (queue.drainTo(batch, batchSize) > 0);
+    }
+
+    private void drainRemaining() {
+        List<AuditEvent> batch = new ArrayList<>();
+        while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            batchInserter.insertBatch(batch);
+            writtenCount.addAndGet(batch.size());
+        } catch (Exception e) {
+            log.warn("Failed to write a batch of {} audit events, retrying them one by one: {}", batch.size(), e.getMessage());
+            for (AuditEvent event : batch) {
+                insertOne(event);
+            }
+        }
+        batch.clear();
+    }
+
+    private void insertOne(AuditEvent event) {
+        try {
+            batchInserter.insertBatch(List.of(event));
+            writtenCount.incrementAndGet();
+        } catch (Exception e) {
+            failedCount.incrementAndGet();
+            log.error("Lost audit event {} of {} at {}, data {}: {}", event.getType(), event.getPrincipal(),
+                    event.getTimestamp(), event.getData(), e.getMessage(), e);
+        }
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getSpilledCount() {
+        return spilledCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+}
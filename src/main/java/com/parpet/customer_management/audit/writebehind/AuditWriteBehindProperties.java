@@ -0,0 +1,34 @@
+package com.parpet.customer_management.audit.writebehind;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "audit.write-behind")
+public class AuditWriteBehindProperties {
+    /**
+     * Opt-in switch, when disabled every audit event is saved synchronously on the request thread.
+     */
+    private boolean enabled = false;
+
+    private int queueCapacity = 10_000;
+
+    /**
+     * Maximum number of events written with one JDBC batch.
+     */
+    private int batchSize = 200;
+
+    /**
+     * A partially filled batch is flushed once its oldest event has waited this long.
+     */
+    private Duration maxBatchAge = Duration.ofMillis(200);
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    /**
+     * Upper bound for draining the queue when the application shuts down.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
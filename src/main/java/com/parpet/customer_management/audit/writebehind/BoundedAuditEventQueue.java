@@ -0,0 +1,52 @@
+package com.parpet.customer_management.audit.writebehind;
+
+import org.springframework.boot.actuate.audit.AuditEvent;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free, bounded multi-producer queue. The capacity is enforced with a CAS loop on the
+ * size counter, so producers never take a lock and never allocate more than the queue node.
+ */
+class BoundedAuditEventQueue {
+    private final ConcurrentLinkedQueue<AuditEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+
+    BoundedAuditEventQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    boolean offer(AuditEvent event) {
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+
+        queue.offer(event);
+        return true;
+    }
+
+    int drainTo(List<AuditEvent> target, int maxElements) {
+        int drained = 0;
+        AuditEvent event;
+        while (drained < maxElements && (event = queue.poll()) != null) {
+            target.add(event);
+            drained++;
+        }
+        size.addAndGet(-drained);
+        return drained;
+    }
+
+    int size() {
+        return size.get();
+    }
+}
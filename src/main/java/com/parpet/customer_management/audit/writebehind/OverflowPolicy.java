@@ -0,0 +1,22 @@
+package com.parpet.customer_management.audit.writebehind;
+
+/**
+ * Behaviour of {@link AuditWriteBehindProcessor#submit} when the in-memory queue is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * The request thread waits until the writer frees up space. No audit event is lost,
+     * but a stalled database eventually shows up as request latency again.
+     */
+    BLOCK,
+    /**
+     * The event is discarded and counted in {@link AuditWriteBehindProcessor#getDroppedCount()}.
+     * Request latency is never affected, audit completeness is.
+     */
+    DROP,
+    /**
+     * The event is written synchronously on the request thread, exactly like the
+     * non-async mode does. Nothing is lost, only the overflowing requests pay the INSERT.
+     */
+    SPILL
+}
@@ -0,0 +1,30 @@
+package com.parpet.customer_management.config;
+
+import com.parpet.customer_management.audit.partition.AuditPartitionManager;
+import com.parpet.customer_management.audit.partition.AuditPartitionProperties;
+import com.parpet.customer_management.audit.partition.PerPeriodTableAuditPartitionManager;
+import com.parpet.customer_management.audit.partition.PostgresAuditPartitionManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(AuditPartitionProperties.class)
+public class AuditPartitioningConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "audit.partitioning", name = "enabled", havingValue = "true")
+    public AuditPartitionManager auditPartitionManager(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equalsIgnoreCase(product)) {
+            return new PostgresAuditPartitionManager(jdbcTemplate);
+        }
+        return new PerPeriodTableAuditPartitionManager(jdbcTemplate);
+    }
+}
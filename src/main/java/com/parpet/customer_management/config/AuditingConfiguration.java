@@ -1,22 +1,35 @@
 package com.parpet.customer_management.config;
 
 import com.parpet.customer_management.audit.PersistentAuditEventRepository;
+import com.parpet.customer_management.audit.journal.AuditJournal;
+import com.parpet.customer_management.audit.journal.AuditJournalProperties;
 import com.parpet.customer_management.audit.repository.AuditEventEntityRepository;
+import com.parpet.customer_management.audit.writebehind.AuditWriteBehindProcessor;
+import com.parpet.customer_management.audit.writebehind.AuditWriteBehindProperties;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties({AuditWriteBehindProperties.class, AuditJournalProperties.class})
 public class AuditingConfiguration {
     private final AuditEventEntityRepository auditEventEntityRepository;
+    private final ObjectProvider<AuditWriteBehindProcessor> writeBehindProcessor;
+    private final ObjectProvider<AuditJournal> journal;
 
     @Autowired
-    public AuditingConfiguration(AuditEventEntityRepository auditEventEntityRepository) {
+    public AuditingConfiguration(AuditEventEntityRepository auditEventEntityRepository,
+                                 ObjectProvider<AuditWriteBehindProcessor> writeBehindProcessor,
+                                 ObjectProvider<AuditJournal> journal) {
         this.auditEventEntityRepository = auditEventEntityRepository;
+        this.writeBehindProcessor = writeBehindProcessor;
+        this.journal = journal;
     }
 
     @Bean
     public PersistentAuditEventRepository auditEventRepository() {
-        return new PersistentAuditEventRepository(auditEventEntityRepository);
+        return new PersistentAuditEventRepository(auditEventEntityRepository, writeBehindProcessor, journal);
     }
 }
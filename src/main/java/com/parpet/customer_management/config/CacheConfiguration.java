@@ -0,0 +1,44 @@
+package com.parpet.customer_management.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+    public static final String CUSTOMERS = "customers";
+    public static final String CUSTOMER_PAGES = "customerPages";
+
+    /**
+     * recordStats() feeds the cache.gets / cache.evictions meters, which Spring Boot binds
+     * automatically for every cache of this manager.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${customer.cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${customer.cache.ttl:10m}") Duration ttl,
+                                     @Value("${customer.page-cache.max-customers:100000}") long pageCacheMaxCustomers) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setCacheNames(List.of(CUSTOMERS));
+
+        // memory budget of the list-page cache: total number of customers held over all cached pages
+        cacheManager.registerCustomCache(CUSTOMER_PAGES, Caffeine.newBuilder()
+                .maximumWeight(pageCacheMaxCustomers)
+                .weigher((Object key, Object page) -> ((Page<?>) page).getNumberOfElements() + 1)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,33 @@
+package com.parpet.customer_management.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary alternatives of the JSON responses for service-to-service consumers, chosen by the
+ * Accept header: {@code application/cbor} and {@code application/x-jackson-smile}. Their object
+ * mappers come from the Spring Boot configured builder, with the same modules and features as the
+ * JSON one, so every format carries the same fields in the same shape (dates as ISO strings, the
+ * same Page envelope). Spring Boot puts these beans in place of the default converters of the
+ * same type, which come after the JSON converter: without a specific Accept header the response
+ * stays JSON.
+ */
+@Configuration
+public class ContentNegotiationConfiguration {
+
+    // the builder bean is a prototype, each converter gets its own
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
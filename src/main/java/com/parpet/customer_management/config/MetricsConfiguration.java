@@ -0,0 +1,19 @@
+package com.parpet.customer_management.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@code @Timed} on Spring beans (CustomerService, PersistentAuditEventRepository).
+ * Repository calls are timed by Spring Boot as {@code spring.data.repository.invocations}.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,71 @@
+package com.parpet.customer_management.config;
+
+import com.parpet.customer_management.datasource.ReplicaRoutingDataSource;
+import com.parpet.customer_management.datasource.ReplicaRoutingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured data source when replica-routing.enabled is set: the primary pool
+ * is still built from spring.datasource(.hikari), the replicas get a read-only pool each, and the
+ * data source seen by JPA and everything else routes between them (see {@link ReplicaRoutingDataSource}).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "replica-routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ReplicaRoutingProperties properties) {
+        List<ReplicaRoutingProperties.Replica> replicas = properties.getReplicas();
+        if (replicas.isEmpty()) {
+            throw new IllegalStateException("replica-routing.enabled requires at least one replica-routing.replicas entry");
+        }
+
+        Map<String, DataSource> targets = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaRoutingProperties.Replica replica = replicas.get(i);
+            // built with setters, so the pool starts on first use and an unreachable replica does not stop the startup
+            DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword());
+            if (replica.getDriverClassName() != null) {
+                builder.driverClassName(replica.getDriverClassName());
+            }
+            HikariDataSource dataSource = builder.build();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            targets.put("replica-" + i, dataSource);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, targets, properties);
+    }
+
+    @Bean
+    @Primary
+    public LazyConnectionDataSourceProxy dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
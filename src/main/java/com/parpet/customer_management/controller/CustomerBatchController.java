@@ -0,0 +1,33 @@
+package com.parpet.customer_management.controller;
+
+import com.parpet.customer_management.dto.incoming.CustomerCommand;
+import com.parpet.customer_management.dto.incoming.CustomerUpdateItem;
+import com.parpet.customer_management.dto.outgoing.BatchResult;
+import com.parpet.customer_management.service.CustomerBatchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/customers/batch")
+@RequiredArgsConstructor
+public class CustomerBatchController {
+    private final CustomerBatchService customerBatchService;
+
+    @PostMapping
+    public ResponseEntity<BatchResult> createCustomers(@RequestBody List<CustomerCommand> customerCommands) {
+        return ResponseEntity.ok(customerBatchService.createCustomers(customerCommands));
+    }
+
+    @PutMapping
+    public ResponseEntity<BatchResult> updateCustomers(@RequestBody List<CustomerUpdateItem> items) {
+        return ResponseEntity.ok(customerBatchService.updateCustomers(items));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<BatchResult> deleteCustomers(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(customerBatchService.deleteCustomers(ids));
+    }
+}
@@ -1,50 +1,156 @@
 package com.parpet.customer_management.controller;
 
 import com.parpet.customer_management.dto.incoming.CustomerCommand;
+import com.parpet.customer_management.dto.incoming.CustomerFilter;
+import com.parpet.customer_management.dto.incoming.CustomerPatch;
 import com.parpet.customer_management.dto.incoming.QueryDto;
 import com.parpet.customer_management.dto.mapper.CustomerMapper;
+import com.parpet.customer_management.dto.outgoing.BulkDeleteResult;
+import com.parpet.customer_management.dto.outgoing.CursorPage;
 import com.parpet.customer_management.dto.outgoing.CustomerDetails;
 import com.parpet.customer_management.model.Customer;
+import com.parpet.customer_management.service.CustomerBatchService;
 import com.parpet.customer_management.service.CustomerService;
+import com.parpet.customer_management.util.ETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
-import org.springframework.http.HttpStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/customers")
 @RequiredArgsConstructor
 public class CustomerController {
+    public static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    // the formats of the message converters, in their order (see ContentNegotiationConfiguration)
+    private static final List<MediaType> REPRESENTATIONS = List.of(MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR, new MediaType("application", "x-jackson-smile"));
+
     private final CustomerService customerService;
     private final CustomerMapper customerMapper;
+    private final CustomerBatchService customerBatchService;
+    // absent when the application runs without the web layer (WebApplicationType.NONE)
+    private final ObjectProvider<ContentNegotiationManager> contentNegotiationManager;
 
     @PostMapping
     public ResponseEntity<Customer> createCustomer(@Valid @RequestBody CustomerCommand customerCommand) {
-        return ResponseEntity.ok(customerService.createCustomer(customerCommand));
+        Customer customer = customerService.createCustomer(customerCommand);
+        return ResponseEntity.ok().eTag(ETags.of(customer.getVersion())).body(customer);
     }
 
     @GetMapping
     public ResponseEntity<Page<CustomerDetails>> getCustomers(
             @RequestParam(name = "page", defaultValue = "0") Integer page,
             @RequestParam(name = "size", defaultValue = "10") Integer size,
-            @RequestParam(name = "sort", defaultValue = "[{\"field\":\"name\",\"direction\":\"ASC\"}]") String sort
-    ) {
-        Page<Customer> customers = customerService.getCustomers(QueryDto.builder()
+            @RequestParam(name = "sort", defaultValue = "[{\"field\":\"name\",\"direction\":\"ASC\"}]") String sort,
+            @RequestParam(name = "namePrefix", required = false) String namePrefix,
+            @RequestParam(name = "minAge", required = false) Integer minAge,
+            @RequestParam(name = "maxAge", required = false) Integer maxAge,
+            @RequestParam(name = "bornFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornFrom,
+            @RequestParam(name = "bornTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornTo,
+            @RequestParam(name = "gender", required = false) String gender,
+            @RequestParam(name = "address", required = false) String address,
+            NativeWebRequest request
+    ) throws HttpMediaTypeNotAcceptableException {
+        Page<CustomerDetails> customers = customerService.getCustomers(QueryDto.builder()
                 .page(page)
                 .size(size)
                 .sort(sort)
+                .build(), CustomerFilter.builder()
+                .namePrefix(namePrefix)
+                .minAge(minAge)
+                .maxAge(maxAge)
+                .bornFrom(bornFrom)
+                .bornTo(bornTo)
+                .gender(gender)
+                .address(address)
                 .build());
 
-        return new ResponseEntity<>(customers.map(customerMapper::entitiesToDto), HttpStatus.OK);
+        // a matching If-None-Match is answered with 304 before the page is serialized
+        String eTag = ETags.ofContent(representation(request),
+                customers.getNumber() + ":" + customers.getSize() + ":" + customers.getTotalElements(),
+                customers.getContent(), CustomerDetails::getId, CustomerDetails::getVersion);
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(customers);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<CustomerDetails>> getCustomersAfter(
+            @RequestParam(name = "cursor") String cursor,
+            @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "sort", defaultValue = "[{\"field\":\"name\",\"direction\":\"ASC\"}]") String sort,
+            @RequestParam(name = "namePrefix", required = false) String namePrefix,
+            @RequestParam(name = "minAge", required = false) Integer minAge,
+            @RequestParam(name = "maxAge", required = false) Integer maxAge,
+            @RequestParam(name = "bornFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornFrom,
+            @RequestParam(name = "bornTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornTo,
+            @RequestParam(name = "gender", required = false) String gender,
+            @RequestParam(name = "address", required = false) String address,
+            NativeWebRequest request
+    ) throws HttpMediaTypeNotAcceptableException {
+        CursorPage<Customer> customers = customerService.getCustomersAfter(QueryDto.builder()
+                .size(size)
+                .sort(sort)
+                .build(), CustomerFilter.builder()
+                .namePrefix(namePrefix)
+                .minAge(minAge)
+                .maxAge(maxAge)
+                .bornFrom(bornFrom)
+                .bornTo(bornTo)
+                .gender(gender)
+                .address(address)
+                .build(), cursor);
+
+        CursorPage<CustomerDetails> page = customers.map(customerMapper::entitiesToDto);
+        String eTag = ETags.ofContent(representation(request), String.valueOf(page.getNextCursor()),
+                page.getContent(), CustomerDetails::getId, CustomerDetails::getVersion);
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(page);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<CustomerDetails> getCustomer(@PathVariable("id") Long id, NativeWebRequest request)
+            throws HttpMediaTypeNotAcceptableException {
+        CustomerDetails customer = customerService.getCustomer(id);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(customer.getVersion(), representation(request)))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(customer);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Customer> updateCustomer(
             @PathVariable("id") Long id,
-            @Valid @RequestBody CustomerCommand customerCommand) {
-        return ResponseEntity.ok(customerService.updateCustomer(id, customerCommand));
+            @Valid @RequestBody CustomerCommand customerCommand,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Customer customer = customerService.updateCustomer(id, customerCommand, ifMatch);
+        return ResponseEntity.ok().eTag(ETags.of(customer.getVersion())).body(customer);
+    }
+
+    // 204 without a body: the patched customer is not read back. The ETag is only known, and sent,
+    // when the request was conditional.
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchCustomer(
+            @PathVariable("id") Long id,
+            @RequestBody CustomerPatch customerPatch,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long version = customerService.patchCustomer(id, customerPatch, ifMatch);
+        ResponseEntity.HeadersBuilder<?> response = ResponseEntity.noContent();
+        if (version != null) {
+            response.eTag(ETags.of(version));
+        }
+        return response.build();
     }
 
     @DeleteMapping("/{id}")
@@ -52,4 +158,45 @@ public class CustomerController {
         customerService.deleteCustomer(id);
         return ResponseEntity.noContent().build();
     }
-} 
\ No newline at end of file
+
+    // same filter parameters as the list; at least one of them is required
+    @DeleteMapping
+    public ResponseEntity<BulkDeleteResult> deleteCustomers(
+            @RequestParam(name = "namePrefix", required = false) String namePrefix,
+            @RequestParam(name = "minAge", required = false) Integer minAge,
+            @RequestParam(name = "maxAge", required = false) Integer maxAge,
+            @RequestParam(name = "bornFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornFrom,
+            @RequestParam(name = "bornTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornTo,
+            @RequestParam(name = "gender", required = false) String gender,
+            @RequestParam(name = "address", required = false) String address
+    ) {
+        return ResponseEntity.ok(customerBatchService.deleteMatching(CustomerFilter.builder()
+                .namePrefix(namePrefix)
+                .minAge(minAge)
+                .maxAge(maxAge)
+                .bornFrom(bornFrom)
+                .bornTo(bornTo)
+                .gender(gender)
+                .address(address)
+                .build()));
+    }
+
+    /**
+     * The format the body is going to be written in, negotiated the way the message converters do it:
+     * the requested types compatible with a converter, most specific and highest quality first, JSON
+     * for a wildcard. Needed before the body is written, the tag is compared with If-None-Match first.
+     */
+    private MediaType representation(NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        List<MediaType> compatible = new ArrayList<>();
+        for (MediaType requested : contentNegotiationManager.getIfAvailable(ContentNegotiationManager::new)
+                .resolveMediaTypes(request)) {
+            for (MediaType producible : REPRESENTATIONS) {
+                if (requested.isCompatibleWith(producible)) {
+                    compatible.add(producible.copyQualityValue(requested));
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(compatible);
+        return compatible.isEmpty() ? MediaType.APPLICATION_JSON : compatible.get(0);
+    }
+}
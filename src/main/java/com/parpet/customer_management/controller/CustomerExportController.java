@@ -0,0 +1,50 @@
+package com.parpet.customer_management.controller;
+
+import com.parpet.customer_management.dto.incoming.ExportFormat;
+import com.parpet.customer_management.service.CustomerExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/customers/export")
+@RequiredArgsConstructor
+public class CustomerExportController {
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final CustomerExportService customerExportService;
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportCustomers(
+            @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            @RequestParam(name = "gzip", defaultValue = "false") boolean gzip
+    ) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                customerExportService.export(exportFormat, gzipOut);
+                gzipOut.finish();
+            } else {
+                customerExportService.export(exportFormat, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=customers." + exportFormat.getFileExtension());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
@@ -0,0 +1,27 @@
+package com.parpet.customer_management.controller;
+
+import com.parpet.customer_management.dto.outgoing.CustomerSearchHit;
+import com.parpet.customer_management.service.CustomerSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/customers/search")
+@RequiredArgsConstructor
+public class CustomerSearchController {
+    private final CustomerSearchService customerSearchService;
+
+    @GetMapping
+    public ResponseEntity<List<CustomerSearchHit>> searchCustomers(
+            @RequestParam(name = "q", defaultValue = "") String query,
+            @RequestParam(name = "limit", defaultValue = "20") Integer limit
+    ) {
+        return ResponseEntity.ok(customerSearchService.search(query, limit));
+    }
+}
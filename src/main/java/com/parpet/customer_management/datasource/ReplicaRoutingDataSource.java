@@ -0,0 +1,161 @@
+package com.parpet.customer_management.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends the connections of read-only transactions ({@code @Transactional(readOnly = true)}) to the
+ * healthy replicas in round-robin order and everything else to the primary. A replica is healthy
+ * when its connection is valid and its lag, as reported by the lag query, is within the tolerance.
+ * Without a healthy replica read-only transactions go to the primary as well. Reads run through
+ * {@link #fromPrimary(Supplier)} go to the primary even inside a read-only transaction.
+ * <p>
+ * The lookup happens when the physical connection is fetched, so this data source has to be
+ * wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * transaction manager asks for the connection before it marks the transaction read-only, the lazy
+ * proxy defers that to the first statement.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final List<ReplicaTarget> replicas;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    // replaced as a whole by the health check, read without locking on every read-only connection
+    private volatile List<ReplicaTarget> healthy = List.of();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReplicaRoutingProperties properties) {
+        this.replicas = replicas.entrySet().stream()
+                .map(replica -> new ReplicaTarget(replica.getKey(), replica.getValue()))
+                .toList();
+        this.maxLag = properties.getMaxLag();
+        this.lagQuery = properties.getLagQuery();
+        this.validationTimeoutSeconds = (int) Math.max(1, properties.getValidationTimeout().toSeconds());
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        targets.putAll(replicas);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        // the first reads must not wait for the scheduler
+        checkReplicas();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PRIMARY_ONLY.get() != null) {
+            return PRIMARY;
+        }
+        List<ReplicaTarget> candidates = healthy;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size())).key();
+    }
+
+    /**
+     * Runs {@code read} on the primary: a connection fetched meanwhile on this thread is not routed to
+     * a replica. For reads whose result is cached, a lagging replica would otherwise pin a state older
+     * than the caller's own write in the cache, beyond max-lag. Has no effect without replica routing.
+     */
+    public static <T> T fromPrimary(Supplier<T> read) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${replica-routing.health-check-interval:PT5S}")
+    public void checkReplicas() {
+        List<ReplicaTarget> checked = new ArrayList<>(replicas.size());
+        for (ReplicaTarget replica : replicas) {
+            boolean wasHealthy = healthy.contains(replica);
+            String problem = probe(replica);
+            if (problem == null) {
+                checked.add(replica);
+                if (!wasHealthy) {
+                    log.info("Replica {} is available for read-only transactions", replica.key());
+                }
+            } else if (wasHealthy) {
+                log.warn("Replica {} is taken out of rotation: {}", replica.key(), problem);
+            }
+        }
+        healthy = List.copyOf(checked);
+    }
+
+    public List<String> healthyReplicas() {
+        return healthy.stream().map(ReplicaTarget::key).toList();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (ReplicaTarget replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    // null when the replica is usable, otherwise the reason why not
+    private String probe(ReplicaTarget replica) {
+        try (Connection connection = replica.dataSource().getConnection()) {
+            if (!connection.isValid(validationTimeoutSeconds)) {
+                return "connection is not valid";
+            }
+            if (lagQuery == null || lagQuery.isBlank()) {
+                return null;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(validationTimeoutSeconds);
+                try (ResultSet result = statement.executeQuery(lagQuery)) {
+                    if (result.next()) {
+                        double lagSeconds = result.getDouble(1);
+                        if (result.wasNull()) {
+                            return "replication lag is unknown";
+                        }
+                        if (lagSeconds * 1000 > maxLag.toMillis()) {
+                            return "lag of " + lagSeconds + "s exceeds " + maxLag;
+                        }
+                    }
+                }
+            }
+            return null;
+        } catch (Exception e) {
+            return e.getMessage();
+        }
+    }
+
+    private record ReplicaTarget(String key, DataSource dataSource) {
+    }
+}
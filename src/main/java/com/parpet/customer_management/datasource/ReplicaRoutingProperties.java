@@ -0,0 +1,58 @@
+package com.parpet.customer_management.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "replica-routing")
+public class ReplicaRoutingProperties {
+    /**
+     * Opt-in switch, when enabled read-only transactions are served by the replicas below and
+     * everything else by spring.datasource (the primary).
+     */
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * A replica further behind the primary than this is not used until it catches up.
+     */
+    private Duration maxLag = Duration.ofSeconds(10);
+
+    /**
+     * Returns the replication lag of the replica in seconds, NULL when it is unknown (the replica is
+     * then taken out like a lagging one). The default reads it on a PostgreSQL streaming replica and
+     * gives 0 on a primary, or when all received WAL has been replayed while the WAL receiver is
+     * streaming (an idle primary commits nothing, the replay timestamp alone would keep growing).
+     * A replica whose receiver is disconnected has replayed everything it received, but not what the
+     * primary wrote since, so its lag is unknown. Reading pg_stat_wal_receiver.status needs the
+     * pg_read_all_stats (or pg_monitor) role, without it the status is NULL and the replica is never used.
+     */
+    private String lagQuery = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0"
+            + " WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL"
+            + " WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    /**
+     * Pause between two health checks of the replicas (ISO-8601, read by the @Scheduled check).
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Timeout of the connection validity check of a replica.
+     */
+    private Duration validationTimeout = Duration.ofSeconds(1);
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,38 @@
+package com.parpet.customer_management.dto.incoming;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filter parameters of the customer list. Unset fields do not restrict the result.
+ * Immutable, since it is part of the page cache key.
+ */
+@Getter
+@Builder
+@EqualsAndHashCode
+@ToString
+public class CustomerFilter {
+    public static final CustomerFilter NONE = CustomerFilter.builder().build();
+
+    private final String namePrefix;
+    private final Integer minAge;
+    private final Integer maxAge;
+    private final LocalDate bornFrom;
+    private final LocalDate bornTo;
+    private final String gender;
+    private final String address;
+
+    // blank strings do not restrict the result either, see CustomerSpecifications
+    public boolean isUnrestricted() {
+        return isBlank(namePrefix) && minAge == null && maxAge == null && bornFrom == null && bornTo == null
+                && isBlank(gender) && isBlank(address);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
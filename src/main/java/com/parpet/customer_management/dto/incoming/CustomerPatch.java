@@ -0,0 +1,26 @@
+package com.parpet.customer_management.dto.incoming;
+
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JSON Merge Patch (RFC 7396) of a customer: only the members present in the document are
+ * changed, an explicit {@code null} clears the field. The members are kept as raw JSON so that
+ * "absent" and "null" stay distinguishable; they are converted and validated by the service.
+ */
+@Getter
+@ToString
+public class CustomerPatch {
+    private final Map<String, JsonNode> fields = new LinkedHashMap<>();
+
+    @JsonAnySetter
+    public void set(String field, JsonNode value) {
+        fields.put(field, value == null ? NullNode.getInstance() : value);
+    }
+}
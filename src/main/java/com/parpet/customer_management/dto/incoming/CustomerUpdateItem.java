@@ -0,0 +1,9 @@
+package com.parpet.customer_management.dto.incoming;
+
+import lombok.Data;
+
+@Data
+public class CustomerUpdateItem {
+    private Long id;
+    private CustomerCommand customer;
+}
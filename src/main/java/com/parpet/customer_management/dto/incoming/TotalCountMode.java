@@ -0,0 +1,29 @@
+package com.parpet.customer_management.dto.incoming;
+
+import java.util.Locale;
+
+/**
+ * How the total number of elements is computed for a paged response.
+ */
+public enum TotalCountMode {
+    /**
+     * Exact {@code count(*)} on every request.
+     */
+    EXACT,
+    /**
+     * Cached estimate, refreshed periodically.
+     */
+    APPROXIMATE,
+    /**
+     * No total at all, a slice with a {@code last} flag is returned instead.
+     */
+    NONE;
+
+    public static TotalCountMode of(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown total mode: " + value + " (expected exact, approximate or none)", e);
+        }
+    }
+}
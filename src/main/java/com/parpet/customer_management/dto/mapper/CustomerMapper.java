@@ -1,5 +1,6 @@
 package com.parpet.customer_management.dto.mapper;
 
+import com.parpet.customer_management.dto.incoming.CustomerCommand;
 import com.parpet.customer_management.dto.outgoing.CustomerDetails;
 import com.parpet.customer_management.model.Customer;
 import org.springframework.stereotype.Component;
@@ -14,6 +15,15 @@ public class CustomerMapper {
         customerDetails.setDateOfBirth(customer.getDateOfBirth());
         customerDetails.setAddress(customer.getAddress());
         customerDetails.setGender(customer.getGender());
+        customerDetails.setVersion(customer.getVersion());
         return customerDetails;
     }
+
+    public void updateEntityFromCommand(Customer customer, CustomerCommand customerCommand) {
+        customer.setName(customerCommand.getName());
+        customer.setAge(customerCommand.getAge());
+        customer.setDateOfBirth(customerCommand.getDateOfBirth());
+        customer.setAddress(customerCommand.getAddress());
+        customer.setGender(customerCommand.getGender());
+    }
 }
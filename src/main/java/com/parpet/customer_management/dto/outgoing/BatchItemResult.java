@@ -0,0 +1,27 @@
+package com.parpet.customer_management.dto.outgoing;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    /**
+     * Position of the item in the request array.
+     */
+    private int index;
+    private Long id;
+    /**
+     * CREATED, UPDATED, DELETED, VALIDATION_ERROR, NOT_FOUND or GENERAL_ERROR
+     */
+    private String status;
+    private Map<String, String> errors;
+    private CustomerDetails customer;
+
+    public BatchItemResult(int index, String status) {
+        this.index = index;
+        this.status = status;
+    }
+}
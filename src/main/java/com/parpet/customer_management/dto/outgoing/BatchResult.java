@@ -0,0 +1,18 @@
+package com.parpet.customer_management.dto.outgoing;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchResult {
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResult> items;
+
+    public BatchResult(List<BatchItemResult> items, String successStatus) {
+        this.items = items;
+        this.succeeded = (int) items.stream().filter(item -> successStatus.equals(item.getStatus())).count();
+        this.failed = items.size() - succeeded;
+    }
+}
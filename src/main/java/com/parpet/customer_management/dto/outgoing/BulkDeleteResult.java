@@ -0,0 +1,12 @@
+package com.parpet.customer_management.dto.outgoing;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteResult {
+    private long deleted;
+}
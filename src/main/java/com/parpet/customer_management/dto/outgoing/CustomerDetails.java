@@ -19,4 +19,6 @@ public class CustomerDetails {
     private String address;
 
     private String gender;
+
+    private Long version;
 }
@@ -0,0 +1,13 @@
+package com.parpet.customer_management.dto.outgoing;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSearchHit {
+    private CustomerDetails customer;
+    private double score;
+}
@@ -7,5 +7,7 @@ public enum ERROR_CODE {
     ILLEGAL_STATE_EXCEPTION,
     ENTITY_OBJECT_NOT_FOUND,
     NO_SUCH_ELEMENT,
-    ENTITY_NOT_FOUND
+    ENTITY_NOT_FOUND,
+    PRECONDITION_FAILED,
+    CONFLICT
 }
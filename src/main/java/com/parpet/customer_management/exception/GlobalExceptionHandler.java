@@ -1,22 +1,26 @@
 package com.parpet.customer_management.exception;
 
 import com.fasterxml.jackson.core.JsonParseException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parpet.customer_management.audit.AuditPayloads;
 import com.parpet.customer_management.audit.CustomerAuditEventPublisher;
 import com.parpet.customer_management.audit.dto.CustomerAuditEventCommand;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.Instant;
 import java.util.HashMap;
@@ -32,14 +36,12 @@ public class GlobalExceptionHandler {
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
     private final MessageSource messageSource;
     private final CustomerAuditEventPublisher auditEventPublisher;
-    private final ObjectMapper objectMapper;
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         try {
             // Kérés adatainak kinyerése
-            Object requestBody = ex.getBindingResult().getTarget();
-            String requestJson = objectMapper.writeValueAsString(requestBody);
+            Object request = AuditPayloads.project(ex.getBindingResult().getTarget());
 
             // Művelet típusának meghatározása
             String methodName = Objects.requireNonNull(ex.getParameter().getMethod()).getDeclaringClass().getName();
@@ -49,7 +51,7 @@ public class GlobalExceptionHandler {
             auditEventPublisher.publishAuditEvent(CustomerAuditEventCommand.builder()
                     .action(operation)
                     .customerId(null)
-                    .request(requestJson)
+                    .request(request)
                     .status("VALIDATION_ERROR")
                     .timestamp(Instant.now())
                     .build());
@@ -119,6 +121,16 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, status);
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiError> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        logger.error("Request parameter could not be converted: ", ex);
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+
+        ApiError body = new ApiError(ERROR_CODE.ILLEGAL_ARGUMENT_ERROR.name(), "Invalid value for request parameter '" + ex.getName() + "'.", ex.getMessage());
+
+        return new ResponseEntity<>(body, status);
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ApiError> handleIllegalStateException(IllegalStateException ex) {
         logger.error("IllegalStateException occurred: ", ex);
@@ -148,6 +160,21 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, status);
     }
 
+    // with If-Match the client named the version it modifies, which no longer holds: 412; without it two
+    // unconditional writes collided, there was no precondition to fail: 409
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex,
+                                                                           HttpServletRequest request) {
+        logger.warn("Stale update rejected: {}", ex.getMessage());
+        if (request.getHeader(HttpHeaders.IF_MATCH) != null) {
+            ApiError body = new ApiError(ERROR_CODE.PRECONDITION_FAILED.name(), "The entity has been modified meanwhile.", ex.getMessage());
+            return new ResponseEntity<>(body, HttpStatus.PRECONDITION_FAILED);
+        }
+
+        ApiError body = new ApiError(ERROR_CODE.CONFLICT.name(), "The entity has been modified by a concurrent request.", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(Throwable.class)
     public ResponseEntity<ApiError> defaultErrorHandler(Throwable t) {
         logger.error("An unexpected error occurred: ", t);
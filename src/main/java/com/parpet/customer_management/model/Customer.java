@@ -1,5 +1,6 @@
 package com.parpet.customer_management.model;
 
+import com.parpet.customer_management.service.CustomerWriteListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
@@ -8,10 +9,17 @@ import java.time.LocalDate;
 
 @Data
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+        @Index(name = "idx_customers_name_id", columnList = "name, id"),
+        @Index(name = "idx_customers_date_of_birth_id", columnList = "dateOfBirth, id"),
+        @Index(name = "idx_customers_age", columnList = "age"),
+        @Index(name = "idx_customers_gender", columnList = "gender")
+})
+@EntityListeners(CustomerWriteListener.class)
 public class Customer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_seq")
+    @SequenceGenerator(name = "customers_seq", sequenceName = "customers_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -30,4 +38,10 @@ public class Customer {
 
     @Pattern(regexp = "^[MF]$")
     private String gender;
+
+    /**
+     * Optimistic lock, also the source of the ETag of the customer.
+     */
+    @Version
+    private Long version;
 } 
\ No newline at end of file
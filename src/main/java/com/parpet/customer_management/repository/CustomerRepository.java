@@ -1,8 +1,43 @@
 package com.parpet.customer_management.repository;
 
 import com.parpet.customer_management.model.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
-} 
\ No newline at end of file
+public interface CustomerRepository extends JpaRepository<Customer, Long>, JpaSpecificationExecutor<Customer>,
+        CustomerRepositoryCustom {
+
+    @Query("SELECT c.id FROM Customer c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * One DELETE statement; unlike deleteById the customer is not loaded first, so the entity
+     * callbacks do not run. Returns the number of rows deleted.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Customer c WHERE c.id = :id")
+    int deleteCustomerById(@Param("id") Long id);
+
+    /**
+     * Server-side cursor over the whole table: rows are fetched in blocks of the fetch size and
+     * loaded read-only (no dirty-checking snapshot). Must be consumed inside a transaction and
+     * closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT c FROM Customer c ORDER BY c.id")
+    Stream<Customer> streamAllBy();
+}
@@ -0,0 +1,43 @@
+package com.parpet.customer_management.repository;
+
+import com.parpet.customer_management.model.Customer;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface CustomerRepositoryCustom {
+
+    /**
+     * Keyset (seek) query: returns at most {@code limit} customers ordered by {@code sort} that
+     * come strictly after the {@code after} tuple. No OFFSET and no COUNT is executed.
+     *
+     * @param spec  additional filter, {@code null} for none
+     * @param sort  ordering, its last property must be unique (id)
+     * @param after values of the sort properties of the last row already seen, {@code null} for the first page
+     */
+    List<Customer> findPageAfter(Specification<Customer> spec, Sort sort, List<?> after, int limit);
+
+    /**
+     * Ids of the customers matching {@code spec} with an id greater than {@code afterId}, in id
+     * order, at most {@code limit} of them. Only the id column is selected.
+     *
+     * @param afterId last id already seen, {@code null} for the first chunk
+     */
+    List<Long> findIdsAfter(Specification<Customer> spec, Long afterId, int limit);
+
+    /**
+     * Single {@code UPDATE customers SET <changed columns>, version = version + 1 WHERE id = ?
+     * [AND version = ?]} without loading the customer. Entity callbacks and bean validation do not
+     * run, the caller validates the values and maintains the caches. Pending changes are flushed
+     * before and the persistence context is cleared after the statement, so no stale customer
+     * stays managed.
+     *
+     * @param changes          new values by attribute name, {@code null} values clear the column
+     * @param expectedVersions the versions one of which the row must still have, {@code null} for no check
+     * @return the number of rows updated, 0 if there is no such customer (or its version differs)
+     */
+    int updateAttributes(Long id, Map<String, Object> changes, Collection<Long> expectedVersions);
+}
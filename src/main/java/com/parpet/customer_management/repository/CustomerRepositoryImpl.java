@@ -0,0 +1,157 @@
+package com.parpet.customer_management.repository;
+
+import com.parpet.customer_management.model.Customer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.sqm.NodeBuilder;
+import org.hibernate.query.sqm.tree.expression.SqmExpression;
+import org.hibernate.query.sqm.tree.expression.SqmTuple;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Customer> findPageAfter(Specification<Customer> spec, Sort sort, List<?> after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Customer> query = cb.createQuery(Customer.class);
+        Root<Customer> root = query.from(Customer.class);
+
+        List<Predicate> predicates = new ArrayList<>(2);
+        if (spec != null) {
+            Predicate filter = spec.toPredicate(root, query, cb);
+            if (filter != null) {
+                predicates.add(filter);
+            }
+        }
+        if (after != null) {
+            predicates.add(seekPredicate(cb, root, sort.toList(), after));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Long> findIdsAfter(Specification<Customer> spec, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Customer> root = query.from(Customer.class);
+        Path<Long> id = root.get("id");
+
+        List<Predicate> predicates = new ArrayList<>(2);
+        if (spec != null) {
+            Predicate filter = spec.toPredicate(root, query, cb);
+            if (filter != null) {
+                predicates.add(filter);
+            }
+        }
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(id, afterId));
+        }
+        query.select(id).where(predicates.toArray(new Predicate[0])).orderBy(cb.asc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public int updateAttributes(Long id, Map<String, Object> changes, Collection<Long> expectedVersions) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Customer> update = cb.createCriteriaUpdate(Customer.class);
+        Root<Customer> root = update.from(Customer.class);
+
+        changes.forEach((attribute, value) -> {
+            Path<Object> path = root.get(attribute);
+            if (value == null) {
+                update.set(path, (Object) null);
+            } else {
+                update.set(path, value);
+            }
+        });
+        Path<Long> version = root.get("version");
+        update.set(version, cb.sum(version, 1L));
+
+        Predicate byId = cb.equal(root.get("id"), id);
+        update.where(expectedVersions == null ? byId : cb.and(byId, version.in(expectedVersions)));
+
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    /**
+     * The row value comparison {@code (k1, k2, id) > (v1, v2, v3)} when all keys are sorted in the same
+     * direction. Otherwise its expanded form
+     * {@code k1 >= v1 AND (k1 > v1 OR (k1 = v1 AND k2 > v2) OR (k1 = v1 AND k2 = v2 AND id > v3))},
+     * where the redundant leading bound is what the database can turn into an index range scan; the
+     * disjunction alone makes it read the index from its start and filter.
+     */
+    private Predicate seekPredicate(CriteriaBuilder cb, Root<Customer> root, List<Sort.Order> orders, List<?> after) {
+        boolean sameDirection = orders.stream().allMatch(order -> order.getDirection() == orders.get(0).getDirection());
+        if (orders.size() > 1 && sameDirection && cb instanceof NodeBuilder nodeBuilder) {
+            List<SqmExpression<?>> keys = new ArrayList<>(orders.size());
+            List<SqmExpression<?>> values = new ArrayList<>(orders.size());
+            for (int i = 0; i < orders.size(); i++) {
+                keys.add((SqmExpression<?>) root.<Object>get(orders.get(i).getProperty()));
+                values.add((SqmExpression<?>) nodeBuilder.value(after.get(i)));
+            }
+            return beyond(cb, new SqmTuple<>(keys, nodeBuilder), new SqmTuple<>(values, nodeBuilder),
+                    orders.get(0).isAscending());
+        }
+
+        Sort.Order first = orders.get(0);
+        Predicate leadingBound = beyondOrAt(cb, root.get(first.getProperty()), (Comparable<?>) after.get(0), first.isAscending());
+        List<Predicate> alternatives = new ArrayList<>(orders.size());
+
+        for (int i = 0; i < orders.size(); i++) {
+            List<Predicate> conjunction = new ArrayList<>(i + 1);
+            for (int j = 0; j < i; j++) {
+                conjunction.add(cb.equal(root.get(orders.get(j).getProperty()), after.get(j)));
+            }
+            Sort.Order order = orders.get(i);
+            conjunction.add(beyond(cb, root.get(order.getProperty()), (Comparable<?>) after.get(i), order.isAscending()));
+            alternatives.add(cb.and(conjunction.toArray(new Predicate[0])));
+        }
+
+        if (alternatives.size() == 1) {
+            return alternatives.get(0);
+        }
+        return cb.and(leadingBound, cb.or(alternatives.toArray(new Predicate[0])));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate beyond(CriteriaBuilder cb, Path path, Comparable value, boolean ascending) {
+        return ascending ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate beyond(CriteriaBuilder cb, Expression keys, Expression values, boolean ascending) {
+        return ascending ? cb.greaterThan(keys, values) : cb.lessThan(keys, values);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate beyondOrAt(CriteriaBuilder cb, Path path, Comparable value, boolean ascending) {
+        return ascending ? cb.greaterThanOrEqualTo(path, value) : cb.lessThanOrEqualTo(path, value);
+    }
+}
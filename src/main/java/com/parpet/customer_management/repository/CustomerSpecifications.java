@@ -0,0 +1,83 @@
+package com.parpet.customer_management.repository;
+
+import com.parpet.customer_management.dto.incoming.CustomerFilter;
+import com.parpet.customer_management.model.Customer;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles a {@link CustomerFilter} to a single Criteria predicate. Every predicate is shaped to
+ * be served by an index of the customers table (see {@link Customer} and
+ * db/changes/002_customer_filter_indexes.sql): the name prefix is a case-sensitive left-anchored
+ * LIKE, the address match goes through a trigram index on lower(address).
+ */
+public class CustomerSpecifications {
+    private static final char ESCAPE = '\\';
+
+    private CustomerSpecifications() {
+
+    }
+
+    public static Specification<Customer> matching(CustomerFilter filter) {
+        validate(filter);
+
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (hasText(filter.getNamePrefix())) {
+                predicates.add(cb.like(root.get("name"), escapeLike(filter.getNamePrefix()) + "%", ESCAPE));
+            }
+            if (filter.getMinAge() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("age"), filter.getMinAge()));
+            }
+            if (filter.getMaxAge() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("age"), filter.getMaxAge()));
+            }
+            if (filter.getBornFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("dateOfBirth"), filter.getBornFrom()));
+            }
+            if (filter.getBornTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("dateOfBirth"), filter.getBornTo()));
+            }
+            if (hasText(filter.getGender())) {
+                predicates.add(cb.equal(root.get("gender"), filter.getGender()));
+            }
+            if (hasText(filter.getAddress())) {
+                predicates.add(cb.like(cb.lower(root.get("address")),
+                        "%" + escapeLike(filter.getAddress().toLowerCase()) + "%", ESCAPE));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static void validate(CustomerFilter filter) {
+        if (filter.getMinAge() != null && filter.getMaxAge() != null && filter.getMinAge() > filter.getMaxAge()) {
+            throw new IllegalArgumentException("minAge must not be greater than maxAge");
+        }
+        if (filter.getBornFrom() != null && filter.getBornTo() != null && filter.getBornFrom().isAfter(filter.getBornTo())) {
+            throw new IllegalArgumentException("bornFrom must not be after bornTo");
+        }
+        if (hasText(filter.getGender()) && !filter.getGender().matches("^[MF]$")) {
+            throw new IllegalArgumentException("gender must be M or F");
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (char c : value.toCharArray()) {
+            if (c == ESCAPE || c == '%' || c == '_') {
+                escaped.append(ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,385 @@
+package com.parpet.customer_management.service;
+
+import com.parpet.customer_management.audit.AuditPayloads;
+import com.parpet.customer_management.audit.CustomerAuditEventPublisher;
+import com.parpet.customer_management.audit.dto.CustomerAuditEventCommand;
+import com.parpet.customer_management.dto.incoming.CustomerCommand;
+import com.parpet.customer_management.dto.incoming.CustomerFilter;
+import com.parpet.customer_management.dto.incoming.CustomerUpdateItem;
+import com.parpet.customer_management.dto.mapper.CustomerMapper;
+import com.parpet.customer_management.dto.outgoing.BatchItemResult;
+import com.parpet.customer_management.dto.outgoing.BatchResult;
+import com.parpet.customer_management.dto.outgoing.BulkDeleteResult;
+import com.parpet.customer_management.model.Customer;
+import com.parpet.customer_management.repository.CustomerRepository;
+import com.parpet.customer_management.repository.CustomerSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Bulk create/update/delete. The whole request is validated up front, then the valid items are
+ * written chunk by chunk, each chunk in its own transaction and flushed as one JDBC batch
+ * (see hibernate.jdbc.batch_size). One audit event is published per chunk instead of per row.
+ */
+@Service
+@Slf4j
+public class CustomerBatchService {
+    private static final String CREATED = "CREATED";
+    private static final String UPDATED = "UPDATED";
+    private static final String DELETED = "DELETED";
+    private static final String VALIDATION_ERROR = "VALIDATION_ERROR";
+    private static final String NOT_FOUND = "NOT_FOUND";
+    private static final String GENERAL_ERROR = "GENERAL_ERROR";
+
+    private final CustomerRepository customerRepository;
+    private final CustomerMapper customerMapper;
+    private final CustomerAuditEventPublisher auditEventPublisher;
+    private final CustomerCache customerCache;
+    private final CustomerPageCache customerPageCache;
+    private final CustomerSearchService customerSearchService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CustomerBatchService(CustomerRepository customerRepository,
+                                CustomerMapper customerMapper,
+                                CustomerAuditEventPublisher auditEventPublisher,
+                                CustomerCache customerCache,
+                                CustomerPageCache customerPageCache,
+                                CustomerSearchService customerSearchService,
+                                Validator validator,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${customer.batch.chunk-size:100}") int chunkSize,
+                                @Value("${customer.batch.max-size:1000}") int maxSize) {
+        this.customerRepository = customerRepository;
+        this.customerMapper = customerMapper;
+        this.auditEventPublisher = auditEventPublisher;
+        this.customerCache = customerCache;
+        this.customerPageCache = customerPageCache;
+        this.customerSearchService = customerSearchService;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxSize = maxSize;
+    }
+
+    // CREATE
+    public BatchResult createCustomers(List<CustomerCommand> commands) {
+        checkSize(commands);
+        BatchItemResult[] results = new BatchItemResult[commands.size()];
+
+        List<Integer> valid = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            Map<String, String> errors = validate(commands.get(i));
+            if (errors.isEmpty()) {
+                valid.add(i);
+            } else {
+                results[i] = validationError(i, errors);
+            }
+        }
+
+        for (List<Integer> chunk : chunks(valid)) {
+            try {
+                List<Customer> saved = transactionTemplate.execute(status -> {
+                    List<Customer> customers = new ArrayList<>(chunk.size());
+                    for (Integer index : chunk) {
+                        Customer customer = new Customer();
+                        customerMapper.updateEntityFromCommand(customer, commands.get(index));
+                        customers.add(customer);
+                    }
+                    List<Customer> persisted = customerRepository.saveAll(customers);
+                    customerRepository.flush();
+                    return persisted;
+                });
+
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunk.get(i)] = success(chunk.get(i), CREATED, saved.get(i));
+                }
+                publishChunkAudit("BATCH_CREATE_CUSTOMER", chunk.size(), ids(saved), "SUCCESS");
+            } catch (Exception e) {
+                log.error("Batch create of {} customers failed: {}", chunk.size(), e.getMessage(), e);
+                chunk.forEach(index -> results[index] = new BatchItemResult(index, GENERAL_ERROR));
+                publishChunkAudit("BATCH_CREATE_CUSTOMER", chunk.size(), List.of(), "GENERAL_ERROR");
+            } finally {
+                entityManager.clear();
+            }
+        }
+
+        return new BatchResult(List.of(results), CREATED);
+    }
+
+    // UPDATE
+    public BatchResult updateCustomers(List<CustomerUpdateItem> items) {
+        checkSize(items);
+        BatchItemResult[] results = new BatchItemResult[items.size()];
+
+        List<Integer> valid = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            CustomerUpdateItem item = items.get(i);
+            if (item == null) {
+                results[i] = validationError(i, Map.of("item", "must not be null"));
+                continue;
+            }
+            Map<String, String> errors = item.getCustomer() == null
+                    ? new HashMap<>(Map.of("customer", "must not be null"))
+                    : validate(item.getCustomer());
+            if (item.getId() == null) {
+                errors.put("id", "must not be null");
+            }
+            if (errors.isEmpty()) {
+                valid.add(i);
+            } else {
+                results[i] = validationError(i, errors);
+            }
+        }
+
+        for (List<Integer> chunk : chunks(valid)) {
+            List<Long> chunkIds = chunk.stream().map(index -> items.get(index).getId()).toList();
+            try {
+                List<Customer> updated = transactionTemplate.execute(status -> {
+                    Map<Long, Customer> existing = new HashMap<>();
+                    customerRepository.findAllById(chunkIds).forEach(customer -> existing.put(customer.getId(), customer));
+
+                    List<Customer> customers = new ArrayList<>(chunk.size());
+                    for (Integer index : chunk) {
+                        Customer customer = existing.get(items.get(index).getId());
+                        if (customer != null) {
+                            customerMapper.updateEntityFromCommand(customer, items.get(index).getCustomer());
+                        }
+                        customers.add(customer);
+                    }
+                    customerRepository.flush();
+                    // after the flush, so the cached entries carry the incremented versions
+                    customers.stream().filter(Objects::nonNull).forEach(customerCache::refresh);
+                    return customers;
+                });
+
+                List<Long> updatedIds = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    int index = chunk.get(i);
+                    Customer customer = updated.get(i);
+                    if (customer == null) {
+                        BatchItemResult result = new BatchItemResult(index, NOT_FOUND);
+                        result.setId(chunkIds.get(i));
+                        results[index] = result;
+                    } else {
+                        results[index] = success(index, UPDATED, customer);
+                        updatedIds.add(customer.getId());
+                    }
+                }
+                publishChunkAudit("BATCH_UPDATE_CUSTOMER", chunk.size(), updatedIds, "SUCCESS");
+            } catch (Exception e) {
+                log.error("Batch update of {} customers failed: {}", chunk.size(), e.getMessage(), e);
+                for (int i = 0; i < chunk.size(); i++) {
+                    BatchItemResult result = new BatchItemResult(chunk.get(i), GENERAL_ERROR);
+                    result.setId(chunkIds.get(i));
+                    results[chunk.get(i)] = result;
+                }
+                publishChunkAudit("BATCH_UPDATE_CUSTOMER", chunk.size(), chunkIds, "GENERAL_ERROR");
+            } finally {
+                entityManager.clear();
+            }
+        }
+
+        return new BatchResult(List.of(results), UPDATED);
+    }
+
+    // DELETE
+    public BatchResult deleteCustomers(List<Long> ids) {
+        checkSize(ids);
+        BatchItemResult[] results = new BatchItemResult[ids.size()];
+
+        List<Integer> valid = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                results[i] = validationError(i, Map.of("id", "must not be null"));
+            } else {
+                valid.add(i);
+            }
+        }
+
+        for (List<Integer> chunk : chunks(valid)) {
+            List<Long> chunkIds = chunk.stream().map(ids::get).toList();
+            try {
+                Set<Long> deleted = transactionTemplate.execute(status -> {
+                    Set<Long> existing = new HashSet<>(customerRepository.findExistingIds(chunkIds));
+                    // a single DELETE ... WHERE id IN (...) for the whole chunk
+                    customerRepository.deleteAllByIdInBatch(existing);
+                    existing.forEach(customerCache::evict);
+                    // bulk JPQL delete skips the entity callbacks of CustomerWriteListener
+                    customerPageCache.bumpVersion();
+                    customerSearchService.removeAfterCommit(existing);
+                    return existing;
+                });
+
+                for (int i = 0; i < chunk.size(); i++) {
+                    BatchItemResult result = new BatchItemResult(chunk.get(i), deleted.contains(chunkIds.get(i)) ? DELETED : NOT_FOUND);
+                    result.setId(chunkIds.get(i));
+                    results[chunk.get(i)] = result;
+                }
+                publishChunkAudit("BATCH_DELETE_CUSTOMER", chunk.size(), List.copyOf(deleted), "SUCCESS");
+            } catch (Exception e) {
+                log.error("Batch delete of {} customers failed: {}", chunk.size(), e.getMessage(), e);
+                for (int i = 0; i < chunk.size(); i++) {
+                    BatchItemResult result = new BatchItemResult(chunk.get(i), GENERAL_ERROR);
+                    result.setId(chunkIds.get(i));
+                    results[chunk.get(i)] = result;
+                }
+                publishChunkAudit("BATCH_DELETE_CUSTOMER", chunk.size(), chunkIds, "GENERAL_ERROR");
+            } finally {
+                entityManager.clear();
+            }
+        }
+
+        return new BatchResult(List.of(results), DELETED);
+    }
+
+    // DELETE (by filter)
+    // set-based: a chunk is one SELECT of the next matching ids (keyset on id) and one
+    // DELETE ... WHERE id IN (...), each chunk in its own transaction. Every chunk gets an audit event
+    // listing its ids (so it shows up in the history of those customers); a failed chunk stops the
+    // request, the chunks before it stay deleted.
+    public BulkDeleteResult deleteMatching(CustomerFilter filter) {
+        if (filter == null || filter.isUnrestricted()) {
+            throw new IllegalArgumentException("Deleting by filter requires at least one filter parameter");
+        }
+        Specification<Customer> spec = CustomerSpecifications.matching(filter);
+
+        long deleted = 0;
+        Long afterId = null;
+        try {
+            while (true) {
+                Long from = afterId;
+                List<Long> chunk = transactionTemplate.execute(status -> {
+                    List<Long> ids = customerRepository.findIdsAfter(spec, from, chunkSize);
+                    if (!ids.isEmpty()) {
+                        customerRepository.deleteAllByIdInBatch(ids);
+                        ids.forEach(customerCache::evict);
+                        // bulk JPQL delete skips the entity callbacks of CustomerWriteListener
+                        customerPageCache.bumpVersion();
+                        customerSearchService.removeAfterCommit(ids);
+                    }
+                    return ids;
+                });
+                entityManager.clear();
+
+                // a request that matched nothing is still recorded once
+                if (!chunk.isEmpty() || deleted == 0) {
+                    publishFilterAudit("FILTER_DELETE_CUSTOMER", filter, chunk, "SUCCESS");
+                }
+                deleted += chunk.size();
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+                afterId = chunk.get(chunk.size() - 1);
+            }
+        } catch (RuntimeException e) {
+            log.error("Delete by filter {} failed after {} customers: {}", filter, deleted, e.getMessage(), e);
+            publishFilterAudit("FILTER_DELETE_CUSTOMER", filter, List.of(), "GENERAL_ERROR");
+            throw e;
+        }
+
+        return new BulkDeleteResult(deleted);
+    }
+
+    private void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must not be empty");
+        }
+        if (items.size() > maxSize) {
+            throw new IllegalArgumentException("Batch size " + items.size() + " exceeds the limit of " + maxSize);
+        }
+    }
+
+    private Map<String, String> validate(CustomerCommand command) {
+        Map<String, String> errors = new HashMap<>();
+        if (command == null) {
+            errors.put("customer", "must not be null");
+            return errors;
+        }
+        for (ConstraintViolation<CustomerCommand> violation : validator.validate(command)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    private List<List<Integer>> chunks(List<Integer> indexes) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < indexes.size(); from += chunkSize) {
+            chunks.add(indexes.subList(from, Math.min(from + chunkSize, indexes.size())));
+        }
+        return chunks;
+    }
+
+    private BatchItemResult validationError(int index, Map<String, String> errors) {
+        BatchItemResult result = new BatchItemResult(index, VALIDATION_ERROR);
+        result.setErrors(errors);
+        return result;
+    }
+
+    private BatchItemResult success(int index, String status, Customer customer) {
+        BatchItemResult result = new BatchItemResult(index, status);
+        result.setId(customer.getId());
+        result.setCustomer(customerMapper.entitiesToDto(customer));
+        return result;
+    }
+
+    private static List<Long> ids(List<Customer> customers) {
+        return customers.stream().map(Customer::getId).toList();
+    }
+
+    private void publishChunkAudit(String action, int itemCount, List<Long> customerIds, String status) {
+        try {
+            auditEventPublisher.publishAuditEvent(CustomerAuditEventCommand.builder()
+                    .action(action)
+                    .customerIds(customerIds)
+                    .request(itemCount)
+                    .status(status)
+                    .timestamp(Instant.now())
+                    .build());
+        } catch (Exception ex) {
+            log.error("Error publishing batch audit: ", ex);
+        }
+    }
+
+    // one event per chunk: the filter, the number of customers and their ids
+    private void publishFilterAudit(String action, CustomerFilter filter, List<Long> customerIds, String status) {
+        try {
+            Map<String, Object> request = new LinkedHashMap<>(4);
+            request.put("filter", AuditPayloads.project(filter));
+            request.put("affected", customerIds.size());
+            auditEventPublisher.publishAuditEvent(CustomerAuditEventCommand.builder()
+                    .action(action)
+                    .customerIds(customerIds)
+                    .request(request)
+                    .status(status)
+                    .timestamp(Instant.now())
+                    .build());
+        } catch (Exception ex) {
+            log.error("Error publishing filter audit: ", ex);
+        }
+    }
+
+}
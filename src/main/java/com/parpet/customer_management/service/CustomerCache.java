@@ -0,0 +1,81 @@
+package com.parpet.customer_management.service;
+
+import com.parpet.customer_management.config.CacheConfiguration;
+import com.parpet.customer_management.datasource.ReplicaRoutingDataSource;
+import com.parpet.customer_management.dto.mapper.CustomerMapper;
+import com.parpet.customer_management.dto.outgoing.CustomerDetails;
+import com.parpet.customer_management.model.Customer;
+import com.parpet.customer_management.util.TransactionHooks;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of single customers. Writes evict the entry immediately and evict or
+ * refresh it again after commit, so a concurrent read can not leave a stale value behind.
+ * Only the immutable-by-convention DTO is cached, never a managed entity.
+ * <p>
+ * The database load runs outside of the cache, not in a compute that would hold a map lock (and
+ * pin a virtual thread's carrier) for the JDBC round trip. Instead every write bumps a generation
+ * of the id's stripe before it evicts; a load that sees its stripe's generation changed after
+ * its put takes the value out again.
+ */
+@Component
+public class CustomerCache {
+    private static final int GENERATION_STRIPES = 256;
+
+    private final Cache cache;
+    private final CustomerMapper customerMapper;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public CustomerCache(CacheManager cacheManager, CustomerMapper customerMapper) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CacheConfiguration.CUSTOMERS));
+        this.customerMapper = customerMapper;
+    }
+
+    public CustomerDetails get(Long id, Supplier<Customer> loader) {
+        CustomerDetails cached = cache.get(id, CustomerDetails.class);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripe(id);
+        long generation = generations.get(stripe);
+        // from the primary: a lagging replica's state would stay cached for the whole ttl
+        CustomerDetails loaded = ReplicaRoutingDataSource.fromPrimary(() -> customerMapper.entitiesToDto(loader.get()));
+        cache.put(id, loaded);
+        if (generations.get(stripe) != generation) {
+            // a write overlapped the load; its evict may have run before the put
+            cache.evict(id);
+        }
+        return loaded;
+    }
+
+    public void refresh(Customer customer) {
+        Long id = customer.getId();
+        CustomerDetails details = customerMapper.entitiesToDto(customer);
+        evictNow(id);
+        TransactionHooks.afterCommit(() -> {
+            generations.incrementAndGet(stripe(id));
+            cache.put(id, details);
+        });
+    }
+
+    public void evict(Long id) {
+        evictNow(id);
+        TransactionHooks.afterCommit(() -> evictNow(id));
+    }
+
+    private void evictNow(Long id) {
+        generations.incrementAndGet(stripe(id));
+        cache.evict(id);
+    }
+
+    private static int stripe(Long id) {
+        return Math.floorMod(id.hashCode(), GENERATION_STRIPES);
+    }
+}
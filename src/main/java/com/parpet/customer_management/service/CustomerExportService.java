@@ -0,0 +1,121 @@
+package com.parpet.customer_management.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.parpet.customer_management.dto.incoming.ExportFormat;
+import com.parpet.customer_management.dto.mapper.CustomerMapper;
+import com.parpet.customer_management.dto.outgoing.CustomerDetails;
+import com.parpet.customer_management.model.Customer;
+import com.parpet.customer_management.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams the customers table straight to an output stream. Every row is written and detached
+ * before the next one is read, so heap use does not depend on the table size.
+ */
+@Service
+public class CustomerExportService {
+    private static final String CSV_HEADER = "id,name,age,dateOfBirth,address,gender";
+
+    private final CustomerRepository customerRepository;
+    private final CustomerMapper customerMapper;
+    private final ObjectWriter customerWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CustomerExportService(CustomerRepository customerRepository, CustomerMapper customerMapper, ObjectMapper objectMapper) {
+        this.customerRepository = customerRepository;
+        this.customerMapper = customerMapper;
+        this.customerWriter = objectMapper.writerFor(CustomerDetails.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public void export(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Customer> customers = customerRepository.streamAllBy()) {
+            Iterator<Customer> iterator = customers.iterator();
+            if (format == ExportFormat.CSV) {
+                writeCsv(iterator, out);
+            } else {
+                writeNdjson(iterator, out);
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<Customer> customers, OutputStream out) throws IOException {
+        JsonGenerator generator = customerWriter.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+
+        boolean empty = true;
+        while (customers.hasNext()) {
+            customerWriter.writeValue(generator, next(customers));
+            empty = false;
+        }
+        if (!empty) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+        out.flush();
+    }
+
+    private void writeCsv(Iterator<Customer> customers, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        while (customers.hasNext()) {
+            CustomerDetails customer = next(customers);
+            writer.write(String.valueOf(customer.getId()));
+            writer.write(',');
+            writeCsvValue(writer, customer.getName());
+            writer.write(',');
+            writeCsvValue(writer, customer.getAge());
+            writer.write(',');
+            writeCsvValue(writer, customer.getDateOfBirth());
+            writer.write(',');
+            writeCsvValue(writer, customer.getAddress());
+            writer.write(',');
+            writeCsvValue(writer, customer.getGender());
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private CustomerDetails next(Iterator<Customer> customers) {
+        Customer customer = customers.next();
+        // nothing may stay in the persistence context, otherwise it grows with the table
+        entityManager.detach(customer);
+        return customerMapper.entitiesToDto(customer);
+    }
+
+    private static void writeCsvValue(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,86 @@
+package com.parpet.customer_management.service;
+
+import com.parpet.customer_management.model.Customer;
+import com.parpet.customer_management.util.CursorCodec;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sort keys usable for keyset paging of customers. Only non-nullable columns are supported,
+ * because NULL ordering differs between databases and a NULL key can not take part in a
+ * seek predicate.
+ */
+final class CustomerKeyset {
+    private static final Map<String, Field> FIELDS = Map.of(
+            "id", new Field(customer -> customer.getId().toString(), Long::valueOf),
+            "name", new Field(Customer::getName, value -> value),
+            "dateOfBirth", new Field(customer -> customer.getDateOfBirth().toString(), LocalDate::parse)
+    );
+
+    private CustomerKeyset() {
+
+    }
+
+    /**
+     * Validates the requested sort and appends id as tie-breaker, so the sort key is unique.
+     */
+    static Sort keysetSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!FIELDS.containsKey(order.getProperty())) {
+                throw new IllegalArgumentException("Cursor paging is not supported for sort field: " + order.getProperty());
+            }
+        }
+        return sort.getOrderFor("id") == null ? sort.and(Sort.by(Sort.Direction.ASC, "id")) : sort;
+    }
+
+    static List<Object> decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        List<String> values = CursorCodec.decode(cursor, signature(sort));
+        List<Sort.Order> orders = sort.toList();
+        if (values.size() != orders.size()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        List<Object> after = new ArrayList<>(values.size());
+        for (int i = 0; i < orders.size(); i++) {
+            after.add(FIELDS.get(orders.get(i).getProperty()).parse(values.get(i)));
+        }
+        return after;
+    }
+
+    static String encode(Customer last, Sort sort) {
+        List<String> values = sort.stream()
+                .map(order -> FIELDS.get(order.getProperty()).format(last))
+                .toList();
+        return CursorCodec.encode(signature(sort), values);
+    }
+
+    private static String signature(Sort sort) {
+        return sort.stream()
+                .map(order -> order.getProperty() + ":" + order.getDirection())
+                .collect(Collectors.joining(","));
+    }
+
+    private record Field(Function<Customer, String> formatter, Function<String, Object> parser) {
+        String format(Customer customer) {
+            return formatter.apply(customer);
+        }
+
+        Object parse(String value) {
+            try {
+                return parser.apply(value);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+}
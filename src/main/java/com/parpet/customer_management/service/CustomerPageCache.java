@@ -0,0 +1,65 @@
+package com.parpet.customer_management.service;
+
+import com.parpet.customer_management.config.CacheConfiguration;
+import com.parpet.customer_management.datasource.ReplicaRoutingDataSource;
+import com.parpet.customer_management.dto.incoming.CustomerFilter;
+import com.parpet.customer_management.dto.outgoing.CustomerDetails;
+import com.parpet.customer_management.util.TransactionHooks;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Rendered list pages keyed by the normalized query and a global write version. Every customer
+ * write bumps the version (see {@link CustomerWriteListener}), so a page loaded before the write
+ * can never be served after it, even if it is put into the cache late. Entries of older
+ * versions are dropped on the same occasion.
+ */
+@Component
+public class CustomerPageCache {
+    private final Cache cache;
+    private final AtomicLong writeVersion = new AtomicLong();
+
+    public CustomerPageCache(CacheManager cacheManager) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CacheConfiguration.CUSTOMER_PAGES));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Page<CustomerDetails> get(Pageable pageable, CustomerFilter filter, Supplier<Page<CustomerDetails>> loader) {
+        PageKey key = new PageKey(writeVersion.get(), pageable, filter);
+        Page<CustomerDetails> page = cache.get(key, Page.class);
+        if (page == null) {
+            // from the primary: a replica page loaded after a write would be stored under the new version
+            page = ReplicaRoutingDataSource.fromPrimary(loader);
+            cache.put(key, page);
+        }
+        return page;
+    }
+
+    /**
+     * Called by every customer write. The version is bumped right away (pages read from now on
+     * are keyed separately) and again when the transaction ends, because a reader between the
+     * two could have loaded either the pre-commit state or, inside the writing transaction, the
+     * uncommitted one.
+     */
+    public void bumpVersion() {
+        writeVersion.incrementAndGet();
+        TransactionHooks.afterCompletion(() -> {
+            writeVersion.incrementAndGet();
+            cache.clear();
+        });
+    }
+
+    public long getWriteVersion() {
+        return writeVersion.get();
+    }
+
+    private record PageKey(long version, Pageable pageable, CustomerFilter filter) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.parpet.customer_management.service;
+
+import com.parpet.customer_management.dto.mapper.CustomerMapper;
+import com.parpet.customer_management.dto.outgoing.CustomerSearchHit;
+import com.parpet.customer_management.model.Customer;
+import com.parpet.customer_management.repository.CustomerRepository;
+import com.parpet.customer_management.util.TransactionHooks;
+import com.parpet.customer_management.util.TrigramIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Typo-tolerant search over customer names and addresses. The trigram indexes are built from a
+ * streaming scan of the table before the application starts serving requests, and kept current
+ * by {@link CustomerWriteListener} once the writing transaction has committed.
+ */
+@Service
+@Slf4j
+public class CustomerSearchService implements SmartInitializingSingleton {
+    private final TrigramIndex names = new TrigramIndex();
+    private final TrigramIndex addresses = new TrigramIndex();
+
+    private final CustomerRepository customerRepository;
+    private final CustomerMapper customerMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double minScore;
+    private final int maxLimit;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CustomerSearchService(CustomerRepository customerRepository,
+                                 CustomerMapper customerMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${customer.search.min-score:0.5}") double minScore,
+                                 @Value("${customer.search.max-limit:100}") int maxLimit) {
+        this.customerRepository = customerRepository;
+        this.customerMapper = customerMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.minScore = minScore;
+        this.maxLimit = maxLimit;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+        names.clear();
+        addresses.clear();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Customer> customers = customerRepository.streamAllBy()) {
+                customers.forEach(customer -> {
+                    index(customer.getId(), customer.getName(), customer.getAddress());
+                    entityManager.detach(customer);
+                });
+            }
+        });
+        log.info("Customer search index built with {} customers in {} ms",
+                names.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void indexAfterCommit(Customer customer) {
+        Long id = customer.getId();
+        String name = customer.getName();
+        String address = customer.getAddress();
+        TransactionHooks.afterCommit(() -> index(id, name, address));
+    }
+
+    /**
+     * Same for writes that bypass the entity callbacks: only the fields present among the changed
+     * attributes are re-indexed.
+     */
+    public void indexAfterCommit(Long id, Map<String, ?> changes) {
+        boolean name = changes.containsKey("name");
+        boolean address = changes.containsKey("address");
+        if (!name && !address) {
+            return;
+        }
+        String newName = (String) changes.get("name");
+        String newAddress = (String) changes.get("address");
+        TransactionHooks.afterCommit(() -> {
+            if (name) {
+                names.put(id, newName);
+            }
+            if (address) {
+                addresses.put(id, newAddress);
+            }
+        });
+    }
+
+    public void removeAfterCommit(Collection<Long> ids) {
+        List<Long> removed = List.copyOf(ids);
+        TransactionHooks.afterCommit(() -> removed.forEach(id -> {
+            names.remove(id);
+            addresses.remove(id);
+        }));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CustomerSearchHit> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + maxLimit);
+        }
+
+        // best score per customer over both fields; any customer of the overall top list is in
+        // the top list of the field it scored best in
+        Map<Long, Double> scores = new HashMap<>();
+        for (TrigramIndex index : List.of(names, addresses)) {
+            for (TrigramIndex.Hit hit : index.search(query, minScore, limit)) {
+                scores.merge(hit.id(), hit.score(), Math::max);
+            }
+        }
+
+        Map<Long, Customer> customers = new HashMap<>();
+        customerRepository.findAllById(scores.keySet()).forEach(customer -> customers.put(customer.getId(), customer));
+
+        List<CustomerSearchHit> hits = new ArrayList<>(customers.size());
+        for (Map.Entry<Long, Double> score : scores.entrySet()) {
+            Customer customer = customers.get(score.getKey());
+            // deleted, but the index has not caught up with the commit yet
+            if (customer != null) {
+                hits.add(new CustomerSearchHit(customerMapper.entitiesToDto(customer), score.getValue()));
+            }
+        }
+        hits.sort((left, right) -> {
+            int byScore = Double.compare(right.getScore(), left.getScore());
+            return byScore != 0 ? byScore : left.getCustomer().getId().compareTo(right.getCustomer().getId());
+        });
+        return hits.size() > limit ? hits.subList(0, limit) : hits;
+    }
+
+    private void index(Long id, String name, String address) {
+        names.put(id, name);
+        addresses.put(id, address);
+    }
+}
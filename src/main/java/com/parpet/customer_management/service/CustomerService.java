@@ -1,91 +1,226 @@
 package com.parpet.customer_management.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.parpet.customer_management.dto.incoming.CustomerCommand;
+import com.parpet.customer_management.dto.incoming.CustomerFilter;
+import com.parpet.customer_management.dto.incoming.CustomerPatch;
 import com.parpet.customer_management.dto.incoming.QueryDto;
-import com.parpet.customer_management.dto.incoming.SortDto;
+import com.parpet.customer_management.dto.mapper.CustomerMapper;
+import com.parpet.customer_management.dto.outgoing.CursorPage;
+import com.parpet.customer_management.dto.outgoing.CustomerDetails;
 import com.parpet.customer_management.model.Customer;
 import com.parpet.customer_management.repository.CustomerRepository;
+import com.parpet.customer_management.repository.CustomerSpecifications;
+import com.parpet.customer_management.util.ETags;
 import com.parpet.customer_management.util.JsonUtils;
+import com.parpet.customer_management.util.SortSpecCompiler;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @Transactional
 @Slf4j
+@Timed(value = "customer.service", histogram = true)
 public class CustomerService {
+    // the attributes a merge patch may change, with the type their JSON value is read as
+    private static final Map<String, Class<?>> PATCHABLE = Map.of(
+            "name", String.class,
+            "age", Integer.class,
+            "dateOfBirth", LocalDate.class,
+            "address", String.class,
+            "gender", String.class);
+
     private final CustomerRepository customerRepository;
+    private final CustomerMapper customerMapper;
+    private final CustomerCache customerCache;
+    private final CustomerPageCache customerPageCache;
+    private final CustomerSearchService customerSearchService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
+    // writes invalidate the page cache through CustomerWriteListener, except the JPQL UPDATE and DELETE
+    // statements of patchCustomer and deleteCustomer
     @Autowired
-    public CustomerService(CustomerRepository customerRepository) {
+    public CustomerService(CustomerRepository customerRepository, CustomerMapper customerMapper,
+                           CustomerCache customerCache, CustomerPageCache customerPageCache,
+                           CustomerSearchService customerSearchService, ObjectMapper objectMapper,
+                           Validator validator) {
         this.customerRepository = customerRepository;
+        this.customerMapper = customerMapper;
+        this.customerCache = customerCache;
+        this.customerPageCache = customerPageCache;
+        this.customerSearchService = customerSearchService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
 
     // CREATE
     public Customer createCustomer(CustomerCommand customerCommand) {
         Customer customer = new Customer();
-        updateCustomerFromDto(customer, customerCommand);
+        customerMapper.updateEntityFromCommand(customer, customerCommand);
         customer = customerRepository.save(customer);
 
         return customer;
     }
 
     // READ
-    public Page<Customer> getCustomers(QueryDto queryDto) {
-        // parse and create sort orders
-        List<SortDto> sortDtos = JsonUtils.jsonStringToSortDto(queryDto.getSort());
-        List<Sort.Order> orders = new ArrayList<>();
-
-        if (sortDtos != null) {
-            for (SortDto sortDto : sortDtos) {
-                Sort.Direction direction = Objects.equals(sortDto.getDirection(), "desc")
-                        ? Sort.Direction.DESC : Sort.Direction.ASC;
-                orders.add(new Sort.Order(direction, sortDto.getField()));
-            }
-        }
+    // SUPPORTS: a cache hit must not open a transaction (and borrow a connection)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public CustomerDetails getCustomer(Long id) {
+        return customerCache.get(id, () -> customerRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Customer not found with id: " + id)));
+    }
 
+    // read-only, but a page that is not cached yet is loaded from the primary (see CustomerPageCache)
+    @Transactional(readOnly = true)
+    public Page<CustomerDetails> getCustomers(QueryDto queryDto, CustomerFilter filter) {
         // Create page request with sorting
-        PageRequest pageRequest = PageRequest.of(
-                queryDto.getPage(),
-                queryDto.getSize(),
-                Sort.by(orders));
+        PageRequest pageRequest = JsonUtils.jsonStringToPageRequest(queryDto, SortSpecCompiler.CUSTOMER);
+        Specification<Customer> spec = CustomerSpecifications.matching(filter);
 
-        return customerRepository.findAll(pageRequest);
+        return customerPageCache.get(pageRequest, filter, () -> customerRepository.findAll(spec, pageRequest)
+                .map(customerMapper::entitiesToDto));
+    }
+
+    // READ (keyset)
+    @Transactional(readOnly = true)
+    public CursorPage<Customer> getCustomersAfter(QueryDto queryDto, CustomerFilter filter, String cursor) {
+        Sort sort = CustomerKeyset.keysetSort(SortSpecCompiler.CUSTOMER.compile(queryDto.getSort()));
+        List<Object> after = CustomerKeyset.decode(cursor, sort);
+        Specification<Customer> spec = CustomerSpecifications.matching(filter);
+
+        int size = queryDto.getSize();
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+        List<Customer> customers = customerRepository.findPageAfter(spec, sort, after, size + 1);
+        boolean hasNext = customers.size() > size;
+        if (!hasNext) {
+            return new CursorPage<>(customers, size, false, null);
+        }
+
+        customers = customers.subList(0, size);
+        String nextCursor = CustomerKeyset.encode(customers.get(size - 1), sort);
+        return new CursorPage<>(customers, size, true, nextCursor);
     }
 
     // UPDATE
-    public Customer updateCustomer(Long id, CustomerCommand customerCommand) {
+    // ifMatch is checked against the version read here; a write committed after that read is caught
+    // by the version condition of the UPDATE itself, so no extra SELECT is needed either way
+    public Customer updateCustomer(Long id, CustomerCommand customerCommand, String ifMatch) {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Customer not found with id: " + id));
-        updateCustomerFromDto(customer, customerCommand);
-        customer = customerRepository.save(customer);
+        if (!ETags.matches(ifMatch, customer.getVersion())) {
+            throw new OptimisticLockingFailureException("Customer " + id + " has been modified, current version: "
+                    + customer.getVersion());
+        }
+        customerMapper.updateEntityFromCommand(customer, customerCommand);
+        // flushed here, so the returned (and cached) customer carries the incremented version
+        customer = customerRepository.saveAndFlush(customer);
+        customerCache.refresh(customer);
 
         return customer;
     }
 
+    // PATCH
+    // a single UPDATE of the supplied columns without reading the customer first; the row count tells
+    // a successful write from a missing customer, and only then is the row looked up again to tell a
+    // stale If-Match (412) from a missing customer (404). Returns the new version when it is known,
+    // that is when the write was conditional on a single version.
+    public Long patchCustomer(Long id, CustomerPatch patch, String ifMatch) {
+        Map<String, Object> changes = toChanges(patch);
+        Set<Long> expectedVersions = ETags.versionsOf(ifMatch);
+
+        int updated = expectedVersions != null && expectedVersions.isEmpty()
+                ? 0
+                : customerRepository.updateAttributes(id, changes, expectedVersions);
+        if (updated == 0) {
+            if (expectedVersions != null && customerRepository.existsById(id)) {
+                throw new OptimisticLockingFailureException("Customer " + id + " has been modified, expected version: "
+                        + expectedVersions);
+            }
+            throw new EntityNotFoundException("Customer not found with id: " + id);
+        }
+
+        // the bulk UPDATE bypasses CustomerWriteListener
+        customerCache.evict(id);
+        customerPageCache.bumpVersion();
+        customerSearchService.indexAfterCommit(id, changes);
+        return expectedVersions != null && expectedVersions.size() == 1 ? expectedVersions.iterator().next() + 1 : null;
+    }
+
     // DELETE
+    // a single DELETE ... WHERE id = ?, its row count decides the 404
     public void deleteCustomer(Long id) {
-        if (!customerRepository.existsById(id)) {
+        if (customerRepository.deleteCustomerById(id) == 0) {
             throw new EntityNotFoundException("Customer not found with id: " + id);
         }
 
-        customerRepository.deleteById(id);
+        // the JPQL delete bypasses CustomerWriteListener
+        customerCache.evict(id);
+        customerPageCache.bumpVersion();
+        customerSearchService.removeAfterCommit(List.of(id));
     }
 
-    private void updateCustomerFromDto(Customer customer, CustomerCommand dto) {
-        customer.setName(dto.getName());
-        customer.setAge(dto.getAge());
-        customer.setDateOfBirth(dto.getDateOfBirth());
-        customer.setAddress(dto.getAddress());
-        customer.setGender(dto.getGender());
+    /**
+     * Converts and validates the members of a merge patch. Only the supplied fields are validated,
+     * against the constraints of the PUT body and, as the entity is not loaded, those only declared
+     * on the entity (e.g. {@code @Past}).
+     */
+    private Map<String, Object> toChanges(CustomerPatch patch) {
+        if (patch == null || patch.getFields().isEmpty()) {
+            throw new IllegalArgumentException("Patch must change at least one field");
+        }
+
+        Map<String, Object> changes = new LinkedHashMap<>();
+        Set<ConstraintViolation<?>> violations = new LinkedHashSet<>();
+        for (Map.Entry<String, JsonNode> field : patch.getFields().entrySet()) {
+            Class<?> type = PATCHABLE.get(field.getKey());
+            if (type == null) {
+                throw new IllegalArgumentException("Customer field can not be patched: " + field.getKey());
+            }
+
+            Object value;
+            try {
+                value = field.getValue().isNull() ? null : objectMapper.treeToValue(field.getValue(), type);
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid value for customer field '" + field.getKey() + "'", e);
+            }
+
+            Set<ConstraintViolation<CustomerCommand>> commandViolations = validator.validateValue(CustomerCommand.class, field.getKey(), value);
+            if (commandViolations.isEmpty()) {
+                violations.addAll(validator.validateValue(Customer.class, field.getKey(), value));
+            } else {
+                violations.addAll(commandViolations);
+            }
+            changes.put(field.getKey(), value);
+        }
+
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return changes;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package com.parpet.customer_management.service;
+
+import com.parpet.customer_management.model.Customer;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * JPA callbacks of {@link Customer}. Every insert, update and delete going through the
+ * persistence context bumps the page cache version and updates the search index, whichever
+ * service (or repository) issued it. The pre- callbacks are used for the version so that it
+ * moves as soon as the entity is persisted or removed, not only when it is flushed; the search
+ * index needs the post- callbacks, the id is only known by then. Bulk JPQL statements have to
+ * do both themselves.
+ */
+@Component
+public class CustomerWriteListener {
+    private final CustomerPageCache customerPageCache;
+    // resolved lazily: the search service depends on the repository, which needs the
+    // EntityManagerFactory this listener is created for
+    private final ObjectProvider<CustomerSearchService> customerSearchService;
+
+    public CustomerWriteListener(CustomerPageCache customerPageCache, ObjectProvider<CustomerSearchService> customerSearchService) {
+        this.customerPageCache = customerPageCache;
+        this.customerSearchService = customerSearchService;
+    }
+
+    @PrePersist
+    @PreUpdate
+    @PreRemove
+    void onWrite(Object customer) {
+        customerPageCache.bumpVersion();
+    }
+
+    @PostPersist
+    @PostUpdate
+    void onSaved(Customer customer) {
+        customerSearchService.ifAvailable(search -> search.indexAfterCommit(customer));
+    }
+
+    @PostRemove
+    void onRemoved(Customer customer) {
+        customerSearchService.ifAvailable(search -> search.removeAfterCommit(List.of(customer.getId())));
+    }
+}
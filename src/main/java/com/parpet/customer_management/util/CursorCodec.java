@@ -0,0 +1,47 @@
+package com.parpet.customer_management.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encodes the sort-key tuple of the last row of a page into an opaque, URL safe token.
+ * The token carries the sort signature it was created for, so a cursor can not be
+ * replayed against a different ordering.
+ */
+public class CursorCodec {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private CursorCodec() {
+
+    }
+
+    public static String encode(String signature, List<String> values) {
+        List<String> payload = new ArrayList<>(values.size() + 1);
+        payload.add(signature);
+        payload.addAll(values);
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(OBJECT_MAPPER.writeValueAsBytes(payload));
+        } catch (Exception e) {
+            throw new IllegalStateException("Cursor could not be encoded", e);
+        }
+    }
+
+    public static List<String> decode(String cursor, String expectedSignature) {
+        List<String> payload;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor.getBytes(StandardCharsets.US_ASCII));
+            payload = OBJECT_MAPPER.readValue(json, OBJECT_MAPPER.getTypeFactory().constructCollectionType(List.class, String.class));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+
+        if (payload.isEmpty() || !payload.get(0).equals(expectedSignature)) {
+            throw new IllegalArgumentException("Cursor does not belong to sort " + expectedSignature);
+        }
+        return payload.subList(1, payload.size());
+    }
+}
@@ -0,0 +1,95 @@
+package com.parpet.customer_management.util;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Strong entity tags computed from entity versions instead of the serialized body, so a
+ * conditional request is answered before anything is written to the response. A JSON and a CBOR
+ * body of the same version are different representations: the tags of the binary formats carry
+ * their subtype after the version ({@code "5+cbor"}), the JSON one is the bare version.
+ */
+public class ETags {
+    private static final String ANY = "*";
+
+    private ETags() {
+
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String of(Long version, MediaType representation) {
+        return "\"" + version + suffix(representation) + "\"";
+    }
+
+    /**
+     * Tag of a list response: the format, the envelope (page number, size, total, next cursor, ...) and
+     * the (id, version) pair of every entry, so any update, insert or delete affecting the page changes it.
+     */
+    public static <T> String ofContent(MediaType representation, String envelope, List<T> content,
+                                       Function<T, ?> id, Function<T, ?> version) {
+        StringBuilder key = new StringBuilder(envelope.length() + content.size() * 16)
+                .append(suffix(representation)).append(envelope);
+        for (T entry : content) {
+            key.append('|').append(id.apply(entry)).append(':').append(version.apply(entry));
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Evaluates an If-Match header against the current version, see {@link #versionsOf(String)}.
+     */
+    public static boolean matches(String ifMatch, Long currentVersion) {
+        Set<Long> versions = versionsOf(ifMatch);
+        return versions == null || versions.contains(currentVersion);
+    }
+
+    /**
+     * The versions an If-Match header accepts, the same for the writes that read the row first and for
+     * those that check it in the UPDATE statement. {@code null} when any version does (the header is
+     * absent or {@code *}); otherwise the versions of the listed strong tags, possibly none: weak tags
+     * never match (If-Match uses the strong comparison) and neither do tags this service did not issue.
+     */
+    public static Set<Long> versionsOf(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        Set<Long> versions = new LinkedHashSet<>();
+        for (String tag : ifMatch.split(",")) {
+            String version = versionPart(tag.trim());
+            if (version != null) {
+                try {
+                    versions.add(Long.parseLong(version));
+                } catch (NumberFormatException e) {
+                    // not a customer version, matches nothing
+                }
+            }
+        }
+        return versions;
+    }
+
+    // the version of a strong tag in any representation ("5" or "5+cbor"), null for a weak or malformed tag
+    private static String versionPart(String tag) {
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return null;
+        }
+        String opaque = tag.substring(1, tag.length() - 1);
+        int plus = opaque.indexOf('+');
+        return plus < 0 ? opaque : opaque.substring(0, plus);
+    }
+
+    private static String suffix(MediaType representation) {
+        if (representation == null || MediaType.APPLICATION_JSON.isCompatibleWith(representation)) {
+            return "";
+        }
+        return "+" + representation.getSubtype();
+    }
+}
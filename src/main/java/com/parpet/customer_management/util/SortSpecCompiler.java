@@ -0,0 +1,126 @@
+package com.parpet.customer_management.util;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parpet.customer_management.dto.incoming.SortDto;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Compiles the JSON sort parameter ({@code [{"field":"name","direction":"desc"}]}) into an
+ * immutable {@link Sort}. Fields are checked against a per-entity whitelist, so an unknown
+ * property is rejected here instead of failing inside Hibernate. Compiled specs are kept in a
+ * bounded LRU cache keyed by the raw string, the controller defaults are therefore parsed once.
+ */
+public final class SortSpecCompiler {
+    public static final SortSpecCompiler CUSTOMER = new SortSpecCompiler("Customer",
+            Set.of("id", "name", "age", "dateOfBirth", "address", "gender"), 256);
+    public static final SortSpecCompiler AUDIT_EVENT = new SortSpecCompiler("AuditEventEntity",
+            Set.of("id", "principal", "type", "timestamp"), 256);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final JavaType SORT_DTO_LIST =
+            OBJECT_MAPPER.getTypeFactory().constructCollectionType(List.class, SortDto.class);
+
+    private final String entityName;
+    private final Set<String> sortableFields;
+    private final Map<String, Sort> cache;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong compileCount = new AtomicLong();
+
+    public SortSpecCompiler(String entityName, Set<String> sortableFields, int cacheSize) {
+        this.entityName = entityName;
+        this.sortableFields = Set.copyOf(sortableFields);
+        this.cache = new LinkedHashMap<>(cacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Sort> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public Sort compile(String sortJson) {
+        if (sortJson == null || sortJson.isBlank()) {
+            return Sort.unsorted();
+        }
+
+        Sort sort;
+        lock.lock();
+        try {
+            // LinkedHashMap in access order mutates on get as well
+            sort = cache.get(sortJson);
+        } finally {
+            lock.unlock();
+        }
+        if (sort != null) {
+            hitCount.incrementAndGet();
+            return sort;
+        }
+
+        sort = parse(sortJson);
+        compileCount.incrementAndGet();
+
+        lock.lock();
+        try {
+            cache.put(sortJson, sort);
+        } finally {
+            lock.unlock();
+        }
+        return sort;
+    }
+
+    private static List<SortDto> readSortDtos(String sortJson) {
+        try {
+            return OBJECT_MAPPER.readValue(sortJson, SORT_DTO_LIST);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid JSON string", e);
+        }
+    }
+
+    private Sort parse(String sortJson) {
+        List<SortDto> sortDtos = readSortDtos(sortJson);
+        if (sortDtos == null) {
+            return Sort.unsorted();
+        }
+
+        List<Sort.Order> orders = new ArrayList<>(sortDtos.size());
+        for (SortDto sortDto : sortDtos) {
+            if (sortDto == null || sortDto.getField() == null || !sortableFields.contains(sortDto.getField())) {
+                throw new IllegalArgumentException("Not a sortable field of " + entityName + ": "
+                        + (sortDto == null ? null : sortDto.getField()));
+            }
+            orders.add(new Sort.Order(direction(sortDto.getDirection()), sortDto.getField()));
+        }
+        return Sort.by(orders);
+    }
+
+    private static Sort.Direction direction(String direction) {
+        if (direction == null) {
+            return Sort.Direction.ASC;
+        }
+        return Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid sort direction: " + direction));
+    }
+
+    /**
+     * Number of {@link #compile} calls answered from the cache.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Number of times a sort string was actually parsed, i.e. allocated a new {@link Sort}.
+     */
+    public long getCompileCount() {
+        return compileCount.get();
+    }
+}
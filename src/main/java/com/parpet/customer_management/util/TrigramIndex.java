@@ -0,0 +1,230 @@
+package com.parpet.customer_management.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram inverted index over one text field. Texts are lower-cased, stripped of
+ * diacritics and split into words; every word is padded like pg_trgm does ("  word ") and cut
+ * into trigrams. Each trigram maps to a sorted primitive {@code long[]} posting list of document
+ * ids. Reads share a read lock, writes take the write lock.
+ */
+public class TrigramIndex {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final String[] NO_TRIGRAMS = new String[0];
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    // trigrams of every indexed document, needed to remove it again
+    private final Map<Long, String[]> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexes (or re-indexes) a document; a {@code null} or blank text removes it.
+     */
+    public void put(long id, String text) {
+        String[] trigrams = trigrams(text);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (trigrams.length == 0) {
+                return;
+            }
+            documents.put(id, trigrams);
+            for (String trigram : trigrams) {
+                postings.computeIfAbsent(trigram, key -> new Postings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Documents sharing at least {@code minScore} of the query's trigrams, best first. The score
+     * is the fraction of query trigrams found in the document, ties are broken by the shorter
+     * document (closer match), then by id.
+     */
+    public List<Hit> search(String query, double minScore, int limit) {
+        String[] queryTrigrams = trigrams(query);
+        if (queryTrigrams.length == 0 || limit < 1) {
+            return List.of();
+        }
+        int minShared = (int) Math.ceil(minScore * queryTrigrams.length);
+
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            // k-way merge of the sorted posting lists: the smallest head id is taken off the heap
+            // from every list carrying it, which counts the shared trigrams per document in one pass
+            PriorityQueue<Cursor> heads = new PriorityQueue<>(queryTrigrams.length, Comparator.comparingLong(Cursor::current));
+            for (String trigram : queryTrigrams) {
+                Postings list = postings.get(trigram);
+                if (list != null) {
+                    heads.add(new Cursor(list));
+                }
+            }
+
+            while (!heads.isEmpty()) {
+                long id = heads.peek().current();
+                int shared = 0;
+                while (!heads.isEmpty() && heads.peek().current() == id) {
+                    Cursor cursor = heads.poll();
+                    shared++;
+                    if (cursor.advance()) {
+                        heads.add(cursor);
+                    }
+                }
+                if (shared >= Math.max(minShared, 1)) {
+                    hits.add(new Hit(id, (double) shared / queryTrigrams.length, documents.get(id).length));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparingInt(Hit::length)
+                .thenComparingLong(Hit::id));
+        return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+    }
+
+    private void removeLocked(long id) {
+        String[] trigrams = documents.remove(id);
+        if (trigrams == null) {
+            return;
+        }
+        for (String trigram : trigrams) {
+            Postings list = postings.get(trigram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    static String[] trigrams(String text) {
+        if (text == null || text.isBlank()) {
+            return NO_TRIGRAMS;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD))
+                .replaceAll("");
+
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : WORD_SEPARATOR.split(normalized)) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams.toArray(NO_TRIGRAMS);
+    }
+
+    /**
+     * @param length number of distinct trigrams of the document
+     */
+    public record Hit(long id, double score, int length) {
+    }
+
+    /**
+     * Read position in one posting list; only used under the read lock.
+     */
+    private static final class Cursor {
+        private final Postings list;
+        private int position;
+
+        Cursor(Postings list) {
+            this.list = list;
+        }
+
+        long current() {
+            return list.ids[position];
+        }
+
+        boolean advance() {
+            return ++position < list.size;
+        }
+    }
+
+    /**
+     * Sorted, duplicate-free id list. Ids are mostly added in increasing order (sequence ids), so
+     * adding is usually an append.
+     */
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == 0 || id > ids[size - 1]) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+        }
+    }
+}
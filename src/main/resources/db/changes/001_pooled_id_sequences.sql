@@ -0,0 +1,22 @@
+-- IDENTITY -> pooled sequence migration for customers and audit_events (PostgreSQL).
+-- Run it BEFORE starting the new application version: with ddl-auto=update Hibernate would
+-- otherwise create the sequences starting at 1, colliding with the existing ids.
+--
+-- Hibernate's pooled optimizer treats every nextval() value as the upper bound of a block of
+-- INCREMENT BY ids, so the sequence must continue at max(id) + increment.
+-- The allocation size can later be changed with ALTER SEQUENCE ... INCREMENT BY n,
+-- the application follows it (hibernate.id.sequence.increment_size_mismatch_strategy=FIX).
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS customers_seq INCREMENT BY 50;
+SELECT setval('customers_seq', COALESCE((SELECT max(id) FROM customers), 0) + 50, false);
+ALTER TABLE customers ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE customers ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS audit_events_seq INCREMENT BY 50;
+SELECT setval('audit_events_seq', COALESCE((SELECT max(id) FROM audit_events), 0) + 50, false);
+ALTER TABLE audit_events ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE audit_events ALTER COLUMN id DROP DEFAULT;
+
+COMMIT;
@@ -0,0 +1,14 @@
+-- Indexes backing the filter parameters of GET /api/customers (PostgreSQL).
+-- The plain b-tree indexes (name, dateOfBirth, age, gender) are declared on the entity and are
+-- created by ddl-auto=update as well; the two below need PostgreSQL specific operator classes.
+-- CONCURRENTLY cannot run inside a transaction block, execute the statements one by one.
+
+-- namePrefix: name LIKE 'abc%' can only use a b-tree index with a non-C collation when the
+-- index is built with text_pattern_ops.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_customers_name_pattern
+    ON customers (name text_pattern_ops);
+
+-- address: lower(address) LIKE '%abc%' is served by a trigram GIN index.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_customers_address_trgm
+    ON customers USING gin (lower(address) gin_trgm_ops);
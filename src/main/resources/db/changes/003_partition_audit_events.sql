@@ -0,0 +1,52 @@
+-- Converts audit_events to a table partitioned by month on timestamp (PostgreSQL 12+).
+-- Run it in a maintenance window BEFORE enabling audit.partitioning.enabled: the rows are copied
+-- into the new table, writes arriving meanwhile would be lost.
+--
+-- A primary key of a partitioned table has to contain the partition key, hence (id, timestamp);
+-- ids still come from audit_events_seq and stay unique.
+-- Partitions are named audit_events_p<yyyyMM>, the application creates the following ones and
+-- drops the expired ones (audit.partitioning.*). For daily partitions (period: DAILY) change the
+-- loop below to one day steps and the names to audit_events_p<yyyyMMdd>.
+
+BEGIN;
+
+ALTER TABLE audit_events RENAME TO audit_events_unpartitioned;
+ALTER TABLE audit_events_unpartitioned RENAME CONSTRAINT audit_events_pkey TO audit_events_unpartitioned_pkey;
+DROP INDEX IF EXISTS idx_audit_events_timestamp;
+
+CREATE TABLE audit_events (
+    id          bigint                   NOT NULL,
+    principal   varchar(255)             NOT NULL,
+    type        varchar(255)             NOT NULL,
+    "timestamp" timestamp(6) with time zone NOT NULL,
+    data        jsonb,
+    PRIMARY KEY (id, "timestamp")
+) PARTITION BY RANGE ("timestamp");
+
+-- created on every partition, including the future ones
+CREATE INDEX idx_audit_events_timestamp ON audit_events ("timestamp");
+
+-- one partition per month from the oldest existing event up to three months ahead
+DO $$
+DECLARE
+    month date := date_trunc('month', COALESCE((SELECT min("timestamp") FROM audit_events_unpartitioned), now())
+                                      AT TIME ZONE 'UTC')::date;
+    last  date := (date_trunc('month', now() AT TIME ZONE 'UTC') + interval '3 months')::date;
+BEGIN
+    WHILE month <= last LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF audit_events FOR VALUES FROM (%L) TO (%L)',
+                       'audit_events_p' || to_char(month, 'YYYYMM'),
+                       month::timestamp AT TIME ZONE 'UTC',
+                       (month + interval '1 month')::timestamp AT TIME ZONE 'UTC');
+        month := (month + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO audit_events (id, principal, type, "timestamp", data)
+SELECT id, principal, type, "timestamp", data FROM audit_events_unpartitioned;
+
+DROP TABLE audit_events_unpartitioned;
+
+ANALYZE audit_events;
+
+COMMIT;
@@ -0,0 +1,28 @@
+-- Promotes data.customerId and data.status of audit_events to real columns (PostgreSQL).
+-- The columns and their (customer_id, timestamp) / (status, timestamp) indexes are declared on the
+-- entity and created by ddl-auto=update; this script backfills the rows written before.
+-- It walks the table in id ranges and commits after each one, so it does not hold one huge
+-- transaction (or lock) and can be re-run. Do not execute it inside a transaction block.
+
+DO $$
+DECLARE
+    batch_size constant bigint := 10000;
+    last_id bigint := 0;
+    max_id  bigint := (SELECT COALESCE(max(id), 0) FROM audit_events);
+BEGIN
+    WHILE last_id < max_id LOOP
+        UPDATE audit_events
+        SET customer_id = CASE WHEN jsonb_typeof(data -> 'customerId') = 'number'
+                               THEN (data ->> 'customerId')::bigint END,
+            status      = data ->> 'status'
+        WHERE id > last_id
+          AND id <= last_id + batch_size
+          AND customer_id IS NULL
+          AND status IS NULL
+          AND data IS NOT NULL;
+        last_id := last_id + batch_size;
+        COMMIT;
+    END LOOP;
+END $$;
+
+ANALYZE audit_events;
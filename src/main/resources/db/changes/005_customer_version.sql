@@ -0,0 +1,5 @@
+-- Optimistic locking column for customers (PostgreSQL).
+-- ddl-auto=update would add the column as nullable, and Hibernate reads a NULL version as
+-- "never persisted"; existing rows therefore start at 0. On PostgreSQL 11+ a constant default
+-- is stored in the catalog, the table is not rewritten.
+ALTER TABLE customers ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,24 @@
+-- Extends the (principal | type | customer_id | status, timestamp) indexes of audit_events with id (PostgreSQL).
+-- The audit keyset paging orders by (timestamp, id) within a filter; with id in the index the
+-- whole page is one index range scan, without a sort of the rows sharing a timestamp.
+-- ddl-auto=update creates the new indexes under their new names but never drops the old ones,
+-- so run this script before deploying (the new indexes are built without blocking writes) and
+-- the old ones are dropped afterwards. Do not execute it inside a transaction block.
+-- On a partitioned audit_events (003_partition_audit_events.sql) CONCURRENTLY is not supported
+-- on the parent table: remove the keyword there and run it in a maintenance window.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_audit_events_principal_timestamp_id
+    ON audit_events (principal, "timestamp", id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_audit_events_type_timestamp_id
+    ON audit_events (type, "timestamp", id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_audit_events_customer_id_timestamp_id
+    ON audit_events (customer_id, "timestamp", id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_audit_events_status_timestamp_id
+    ON audit_events (status, "timestamp", id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_audit_events_principal_timestamp;
+DROP INDEX CONCURRENTLY IF EXISTS idx_audit_events_type_timestamp;
+DROP INDEX CONCURRENTLY IF EXISTS idx_audit_events_customer_id_timestamp;
+DROP INDEX CONCURRENTLY IF EXISTS idx_audit_events_status_timestamp;
+
+ANALYZE audit_events;
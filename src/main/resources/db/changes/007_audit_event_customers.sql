@@ -0,0 +1,28 @@
+-- Fills audit_event_customers from data.customerIds of the batch / filter delete chunk events
+-- written before the table existed (PostgreSQL). The table and its (customer_id, audit_event_id)
+-- index are declared on the entity and created by ddl-auto=update; the per-customer history
+-- (GET /api/customers/{id}/audit) reads it to find the chunk events of a customer.
+-- It walks audit_events in id ranges and commits after each one, and can be re-run.
+-- Do not execute it inside a transaction block.
+
+DO $$
+DECLARE
+    batch_size constant bigint := 10000;
+    last_id bigint := 0;
+    max_id  bigint := (SELECT COALESCE(max(id), 0) FROM audit_events);
+BEGIN
+    WHILE last_id < max_id LOOP
+        INSERT INTO audit_event_customers (audit_event_id, customer_id)
+        SELECT e.id, c.value::bigint
+        FROM audit_events e
+        CROSS JOIN LATERAL jsonb_array_elements_text(e.data -> 'customerIds') AS c(value)
+        WHERE e.id > last_id
+          AND e.id <= last_id + batch_size
+          AND jsonb_typeof(e.data -> 'customerIds') = 'array'
+        ON CONFLICT DO NOTHING;
+        last_id := last_id + batch_size;
+        COMMIT;
+    END LOOP;
+END $$;
+
+ANALYZE audit_event_customers;
@@ -0,0 +1,40 @@
+package com.parpet.customer_management.integration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.JavaType;
+import org.hibernate.type.format.FormatMapper;
+import org.hibernate.type.format.jackson.JacksonJsonFormatMapper;
+
+/**
+ * The tests run H2 with the PostgreSQL dialect, which binds jsonb values as {@code cast(? as jsonb)}.
+ * H2 turns a cast character string into a JSON <em>string</em> instead of parsing it, so the
+ * document comes back wrapped in quotes. This mapper unwraps such a value before handing it to the
+ * default Jackson mapper; real jsonb documents (as on PostgreSQL) are passed through unchanged.
+ */
+public class H2JsonFormatMapper implements FormatMapper {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final JacksonJsonFormatMapper delegate = new JacksonJsonFormatMapper(objectMapper);
+
+    @Override
+    public <T> T fromString(CharSequence charSequence, JavaType<T> javaType, WrapperOptions wrapperOptions) {
+        if (javaType.getJavaTypeClass() != String.class) {
+            try {
+                JsonNode node = objectMapper.readTree(charSequence.toString());
+                if (node.isTextual()) {
+                    charSequence = node.textValue();
+                }
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Could not read JSON value: " + charSequence, e);
+            }
+        }
+        return delegate.fromString(charSequence, javaType, wrapperOptions);
+    }
+
+    @Override
+    public <T> String toString(T value, JavaType<T> javaType, WrapperOptions wrapperOptions) {
+        return delegate.toString(value, javaType, wrapperOptions);
+    }
+}
@@ -0,0 +1,482 @@
+package com.parpet.customer_management.integration.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parpet.customer_management.audit.PersistentAuditEventRepository;
+import com.parpet.customer_management.audit.journal.AuditJournal;
+import com.parpet.customer_management.audit.journal.AuditJournalForwarder;
+import com.parpet.customer_management.audit.journal.AuditJournalProperties;
+import com.parpet.customer_management.audit.journal.FsyncPolicy;
+import com.parpet.customer_management.audit.model.AuditEventEntity;
+import com.parpet.customer_management.audit.repository.AuditEventEntityRepository;
+import com.parpet.customer_management.audit.writebehind.AuditEventBatchInserter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "audit.journal.enabled=true",
+        "audit.journal.poll-interval=20ms"
+})
+class AuditJOURNAL_Tests {
+    private static volatile boolean databaseDown;
+
+    @Autowired
+    @Qualifier("persistentAuditEventRepository")
+    private PersistentAuditEventRepository persistentAuditEventRepository;
+
+    @Autowired
+    private AuditEventEntityRepository auditEventEntityRepository;
+
+    @TempDir
+    private Path directory;
+
+    @DynamicPropertySource
+    static void journalDirectory(DynamicPropertyRegistry registry) throws IOException {
+        Path directory = Files.createTempDirectory("audit-journal");
+        registry.add("audit.journal.directory", directory::toString);
+    }
+
+    @AfterEach
+    void tearDown() {
+        databaseDown = false;
+        auditEventEntityRepository.deleteAll();
+    }
+
+    @Test
+    void add_WithJournal_ShouldShipEventToDatabase() throws Exception {
+        // When
+        persistentAuditEventRepository.add(event("JOURNAL_TEST"));
+
+        // Then
+        long deadline = System.currentTimeMillis() + 5_000;
+        List<AuditEventEntity> shipped = List.of();
+        while (shipped.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            shipped = auditEventEntityRepository.findAll().stream()
+                    .filter(e -> "JOURNAL_TEST".equals(e.getType()))
+                    .toList();
+        }
+        assertThat(shipped).hasSize(1);
+        assertThat(shipped.get(0).getCustomerId()).isEqualTo(1L);
+        assertThat(shipped.get(0).getStatus()).isEqualTo("SUCCESS");
+    }
+
+    @Test
+    void add_WhenDatabaseIsDown_ShouldAppendWithoutConnectionAndShipLater() throws Exception {
+        // Given
+        databaseDown = true;
+
+        // When
+        long started = System.nanoTime();
+        persistentAuditEventRepository.add(event("WHILE_DOWN"));
+
+        // Then
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(1));
+        databaseDown = false;
+        await(() -> auditEventEntityRepository.findAll().stream().anyMatch(e -> "WHILE_DOWN".equals(e.getType())));
+    }
+
+    @Test
+    void reopen_WithUnshippedEvents_ShouldReplayThem() throws Exception {
+        // Given
+        AuditJournal journal = openJournal(DataSize.ofMegabytes(1));
+        journal.append(event("FIRST"));
+        long second = journal.append(event("SECOND"));
+        journal.append(event("THIRD"));
+        journal.commit(second);
+        journal.close();
+
+        // When
+        AuditJournal reopened = openJournal(DataSize.ofMegabytes(1));
+
+        // Then
+        assertThat(reopened.read(reopened.getCommittedOffset(), 10))
+                .extracting(entry -> entry.event().getType())
+                .containsExactly("SECOND", "THIRD");
+        reopened.close();
+    }
+
+    @Test
+    void reopen_WithTornRecord_ShouldTruncateIt() throws Exception {
+        // Given
+        AuditJournal journal = openJournal(DataSize.ofMegabytes(1));
+        journal.append(event("FIRST"));
+        long end = journal.getWriteOffset();
+        journal.close();
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            // header of a record whose payload never made it to disk
+            file.seek(end);
+            file.writeInt(100);
+            file.writeInt(12345);
+        }
+
+        // When
+        AuditJournal reopened = openJournal(DataSize.ofMegabytes(1));
+        reopened.append(event("SECOND"));
+
+        // Then
+        assertThat(reopened.getWriteOffset()).isGreaterThan(end);
+        assertThat(reopened.read(reopened.getCommittedOffset(), 10))
+                .extracting(entry -> entry.event().getType())
+                .containsExactly("FIRST", "SECOND");
+        reopened.close();
+    }
+
+    @Test
+    void reopen_WithCheckpointBeyondRecoveredEnd_ShouldAppendAfterCheckpoint() throws Exception {
+        // Given
+        AuditJournal journal = openJournal(DataSize.ofMegabytes(1));
+        journal.append(event("FIRST"));
+        long second = journal.append(event("SECOND"));
+        journal.commit(journal.getWriteOffset());
+        long checkpoint = journal.getCommittedOffset();
+        journal.close();
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            // the checkpoint was on disk, the page holding the second record was not
+            file.seek(second);
+            file.write(new byte[(int) (checkpoint - second)]);
+        }
+
+        // When
+        AuditJournal reopened = openJournal(DataSize.ofMegabytes(1));
+        long third = reopened.append(event("THIRD"));
+
+        // Then
+        assertThat(third).isEqualTo(checkpoint);
+        assertThat(reopened.read(reopened.getCommittedOffset(), 10))
+                .extracting(entry -> entry.event().getType())
+                .containsExactly("THIRD");
+        reopened.close();
+    }
+
+    @Test
+    void reopen_WithCheckpointInLostSegment_ShouldStartNewSegmentAtCheckpoint() throws Exception {
+        // Given
+        AuditJournal journal = openJournal(DataSize.ofKilobytes(4));
+        while (segmentFiles().size() < 2) {
+            journal.append(event("EVENT"));
+        }
+        Path oldest = segmentFiles().stream().min(Path::compareTo).orElseThrow();
+        byte[] oldestContent = Files.readAllBytes(oldest);
+        journal.commit(journal.getWriteOffset());
+        long checkpoint = journal.getCommittedOffset();
+        journal.close();
+        // crashed after the checkpoint, before the shipped segment was deleted; the size of the
+        // newest segment file never reached the disk
+        Path newest = segmentFiles().get(0);
+        Files.write(oldest, oldestContent);
+        try (RandomAccessFile file = new RandomAccessFile(newest.toFile(), "rw")) {
+            file.setLength(0);
+        }
+
+        // When
+        AuditJournal reopened = openJournal(DataSize.ofKilobytes(4));
+        long appended = reopened.append(event("AFTER_RESTART"));
+
+        // Then
+        assertThat(appended).isEqualTo(checkpoint);
+        assertThat(reopened.read(reopened.getCommittedOffset(), 10))
+                .extracting(entry -> entry.event().getType())
+                .containsExactly("AFTER_RESTART");
+        reopened.close();
+    }
+
+    @Test
+    void append_FromConcurrentThreadsWithEveryWriteFsync_ShouldKeepEveryRecord() throws Exception {
+        // Given
+        AuditJournalProperties properties = journalProperties(DataSize.ofKilobytes(16));
+        properties.setFsyncPolicy(FsyncPolicy.EVERY_WRITE);
+        AuditJournal journal = new AuditJournal(properties, new ObjectMapper());
+        journal.open();
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = IntStream.range(0, 8)
+                    .mapToObj(writer -> executor.submit(() -> {
+                        for (int i = 0; i < 100; i++) {
+                            journal.append(event("WRITER_" + writer + "_" + i));
+                        }
+                    }))
+                    .collect(Collectors.toList());
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        List<AuditJournal.Entry> entries = journal.read(journal.getCommittedOffset(), 1_000);
+        assertThat(entries).hasSize(800).noneMatch(AuditJournal.Entry::isCorrupt);
+        assertThat(entries).extracting(entry -> entry.event().getType()).doesNotHaveDuplicates();
+        journal.close();
+    }
+
+    @Test
+    void commit_AfterSegmentRoll_ShouldDeleteShippedSegments() throws Exception {
+        // Given
+        AuditJournal journal = openJournal(DataSize.ofKilobytes(4));
+        for (int i = 0; i < 200; i++) {
+            journal.append(event("EVENT_" + i));
+        }
+        assertThat(segmentFiles().size()).isGreaterThan(1);
+
+        // When
+        List<AuditJournal.Entry> entries = journal.read(journal.getCommittedOffset(), 1_000);
+        journal.commit(entries.get(entries.size() - 1).nextOffset());
+
+        // Then
+        assertThat(entries).hasSize(200);
+        assertThat(entries.get(199).event().getType()).isEqualTo("EVENT_199");
+        assertThat(segmentFiles()).hasSize(1);
+        journal.close();
+    }
+
+    @Test
+    void read_WithCorruptRecord_ShouldReturnItAsCorruptAndContinue() throws Exception {
+        // Given
+        AuditJournal journal = openJournal(DataSize.ofMegabytes(1));
+        journal.append(event("FIRST"));
+        long second = journal.append(event("SECOND"));
+        journal.append(event("THIRD"));
+        corruptPayload(second);
+
+        // When
+        List<AuditJournal.Entry> entries = journal.read(journal.getCommittedOffset(), 10);
+
+        // Then
+        assertThat(entries).extracting(AuditJournal.Entry::isCorrupt).containsExactly(false, true, false);
+        assertThat(entries.get(1).defect()).isEqualTo("checksum mismatch");
+        assertThat(entries.get(2).event().getType()).isEqualTo("THIRD");
+        journal.close();
+    }
+
+    @Test
+    void forward_WithCorruptAndRejectedRecords_ShouldDeadLetterThemAndShipTheRest() throws Exception {
+        // Given
+        AuditJournal journal = openJournal(DataSize.ofMegabytes(1));
+        journal.append(event("FIRST"));
+        long corrupt = journal.append(event("CORRUPT"));
+        journal.append(event("THIRD"));
+        journal.append(event("REJECTED"));
+        corruptPayload(corrupt);
+        StubInserter inserter = new StubInserter();
+        inserter.rejectedType = "REJECTED";
+        AuditJournalForwarder forwarder = new AuditJournalForwarder(journal, inserter, forwarderProperties(),
+                new SimpleMeterRegistry());
+
+        // When
+        forwarder.start();
+        await(() -> journal.getCommittedOffset() == journal.getWriteOffset());
+        forwarder.stop();
+
+        // Then
+        assertThat(inserter.shipped).containsExactly("FIRST", "THIRD");
+        assertThat(forwarder.getForwardedCount()).isEqualTo(2);
+        assertThat(forwarder.getDeadLetteredCount()).isEqualTo(2);
+        List<String> deadLetters = Files.readAllLines(directory.resolve("dead-letter.jsonl"));
+        assertThat(deadLetters).hasSize(2);
+        assertThat(deadLetters.get(0)).contains("\"offset\":" + corrupt, "checksum mismatch", "\"payload\"");
+        assertThat(deadLetters.get(1)).contains("rejected", "\"type\":\"REJECTED\"");
+        journal.close();
+    }
+
+    @Test
+    void forward_WhenDatabaseIsUnavailable_ShouldKeepEventsAndRetry() throws Exception {
+        // Given
+        AuditJournal journal = openJournal(DataSize.ofMegabytes(1));
+        journal.append(event("FIRST"));
+        StubInserter inserter = new StubInserter();
+        inserter.unavailable = true;
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AuditJournalForwarder forwarder = new AuditJournalForwarder(journal, inserter, forwarderProperties(),
+                meterRegistry);
+
+        // When
+        forwarder.start();
+        await(() -> forwarder.getFailedAttempts() >= 2);
+
+        // Then
+        assertThat(journal.getCommittedOffset()).isZero();
+        assertThat(forwarder.getDeadLetteredCount()).isZero();
+        assertThat(meterRegistry.get("audit.journal.backlog").gauge().value()).isEqualTo(journal.getWriteOffset());
+        assertThat(meterRegistry.get("audit.journal.failed.attempts").gauge().value()).isGreaterThanOrEqualTo(2);
+
+        inserter.unavailable = false;
+        await(() -> journal.getCommittedOffset() == journal.getWriteOffset());
+        forwarder.stop();
+        assertThat(inserter.shipped).containsExactly("FIRST");
+        assertThat(meterRegistry.get("audit.journal.backlog").gauge().value()).isZero();
+        journal.close();
+    }
+
+    @Test
+    void append_WhenMaxSizeIsReached_ShouldFailUntilSegmentsAreShipped() throws Exception {
+        // Given
+        AuditJournalProperties properties = journalProperties(DataSize.ofKilobytes(4));
+        properties.setMaxSize(DataSize.ofKilobytes(8));
+        AuditJournal journal = new AuditJournal(properties, new ObjectMapper());
+        journal.open();
+        while (segmentFiles().size() < 2 || journal.getWriteOffset() < 6 * 1024) {
+            journal.append(event("FILL"));
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> {
+            for (int i = 0; i < 100; i++) {
+                journal.append(event("OVERFLOW"));
+            }
+        }).isInstanceOf(IllegalStateException.class).hasMessageContaining("is full");
+        assertThat(segmentFiles()).hasSize(2);
+
+        List<AuditJournal.Entry> entries = journal.read(journal.getCommittedOffset(), 1_000);
+        journal.commit(entries.get(entries.size() - 1).nextOffset());
+        journal.append(event("AFTER_SHIPPING"));
+        journal.close();
+    }
+
+    private AuditJournal openJournal(DataSize segmentSize) throws IOException {
+        AuditJournal journal = new AuditJournal(journalProperties(segmentSize), new ObjectMapper());
+        journal.open();
+        return journal;
+    }
+
+    private AuditJournalProperties journalProperties(DataSize segmentSize) {
+        AuditJournalProperties properties = new AuditJournalProperties();
+        properties.setDirectory(directory);
+        properties.setSegmentSize(segmentSize);
+        properties.setFsyncPolicy(FsyncPolicy.NONE);
+        return properties;
+    }
+
+    private static AuditJournalProperties forwarderProperties() {
+        AuditJournalProperties properties = new AuditJournalProperties();
+        properties.setPollInterval(Duration.ofMillis(10));
+        properties.setRetryBackoff(Duration.ofMillis(10));
+        return properties;
+    }
+
+    // flips a payload byte of the record at the offset through the file, the journal stays open
+    private void corruptPayload(long offset) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            file.seek(offset + 8 + 4);
+            int value = file.read();
+            file.seek(offset + 8 + 4);
+            file.write(value ^ 0xFF);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition not met within 5 seconds");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).toList();
+        }
+    }
+
+    private static AuditEvent event(String type) {
+        return new AuditEvent(Instant.parse("2024-03-15T10:30:00Z"), "SYSTEM", type,
+                Map.of("customerId", 1L, "status", "SUCCESS"));
+    }
+
+    /**
+     * Makes every connection request fail while {@link #databaseDown} is set, as an unreachable database would.
+     */
+    @TestConfiguration
+    static class UnavailableDatabaseConfiguration {
+
+        @Bean
+        static BeanPostProcessor unavailableDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            if (databaseDown) {
+                                throw new SQLTransientConnectionException("database is down");
+                            }
+                            return super.getConnection();
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    /**
+     * Records the shipped event types; rejects every batch containing a given type, or fails like an
+     * unreachable database.
+     */
+    private static class StubInserter extends AuditEventBatchInserter {
+        private final List<String> shipped = new CopyOnWriteArrayList<>();
+        private volatile String rejectedType;
+        private volatile boolean unavailable;
+
+        StubInserter() {
+            super(null);
+        }
+
+        @Override
+        public void insertBatch(List<AuditEvent> events) {
+            if (unavailable) {
+                throw new CannotCreateTransactionException("database is down");
+            }
+            if (events.stream().anyMatch(event -> event.getType().equals(rejectedType))) {
+                throw new DataIntegrityViolationException("rejected " + rejectedType);
+            }
+            events.forEach(event -> shipped.add(event.getType()));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.parpet.customer_management.integration.audit;
+
+import com.parpet.customer_management.audit.partition.AuditPartitionMaintenance;
+import com.parpet.customer_management.audit.partition.AuditPartitionManager;
+import com.parpet.customer_management.audit.partition.PerPeriodTableAuditPartitionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the per-period table stand-in, H2 has no declarative partitioning.
+ */
+@SpringBootTest(properties = {
+        "audit.partitioning.enabled=true",
+        "audit.partitioning.period=MONTHLY",
+        "audit.partitioning.premake=2",
+        "audit.partitioning.retention=90d",
+        // the tests drive maintain() with a fixed clock, keep the scheduled run out of the way
+        "audit.partitioning.initial-delay=PT24H"
+})
+class AuditPARTITION_Tests {
+
+    @Autowired
+    private AuditPartitionMaintenance partitionMaintenance;
+
+    @Autowired
+    private AuditPartitionManager partitionManager;
+
+    @AfterEach
+    void tearDown() {
+        partitionManager.partitionNames().forEach(partitionManager::dropPartition);
+    }
+
+    @Test
+    void partitionManager_OnH2_ShouldUsePerPeriodTables() {
+        assertThat(partitionManager).isInstanceOf(PerPeriodTableAuditPartitionManager.class);
+    }
+
+    @Test
+    void maintain_ShouldCreateCurrentAndFuturePartitions() {
+        // When
+        partitionMaintenance.maintain(Instant.parse("2026-11-18T10:00:00Z"));
+
+        // Then
+        assertThat(partitionManager.partitionNames())
+                .contains("audit_events_p202611", "audit_events_p202612", "audit_events_p202701")
+                .doesNotContain("audit_events_p202702");
+    }
+
+    @Test
+    void maintain_ShouldDropOnlyPartitionsOlderThanRetention() {
+        // Given
+        partitionManager.createPartition("audit_events_p202601",
+                Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-02-01T00:00:00Z"));
+        partitionManager.createPartition("audit_events_p202608",
+                Instant.parse("2026-08-01T00:00:00Z"), Instant.parse("2026-09-01T00:00:00Z"));
+        partitionManager.createPartition("audit_events_p20260105",
+                Instant.parse("2026-01-05T00:00:00Z"), Instant.parse("2026-01-06T00:00:00Z"));
+
+        // When (cutoff: 2026-08-20)
+        partitionMaintenance.maintain(Instant.parse("2026-11-18T10:00:00Z"));
+
+        // Then
+        assertThat(partitionManager.partitionNames())
+                .doesNotContain("audit_events_p202601")
+                .contains("audit_events_p202608", "audit_events_p202611")
+                // not a monthly partition name, left alone
+                .contains("audit_events_p20260105");
+    }
+}
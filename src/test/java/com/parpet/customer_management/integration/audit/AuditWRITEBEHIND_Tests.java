@@ -0,0 +1,253 @@
+package com.parpet.customer_management.integration.audit;
+
+import com.parpet.customer_management.audit.writebehind.AuditEventBatchInserter;
+import com.parpet.customer_management.audit.writebehind.AuditWriteBehindProcessor;
+import com.parpet.customer_management.audit.writebehind.AuditWriteBehindProperties;
+import com.parpet.customer_management.audit.writebehind.OverflowPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.audit.AuditEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the write-behind processor against a recording inserter, so batching, overflow and
+ * shutdown can be observed without a database.
+ */
+class AuditWRITEBEHIND_Tests {
+    private static final Duration LONG = Duration.ofHours(1);
+
+    private final RecordingInserter inserter = new RecordingInserter();
+    private AuditWriteBehindProcessor processor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        inserter.release();
+        if (processor != null) {
+            processor.stop();
+        }
+    }
+
+    @Test
+    void submit_WhenBatchIsFull_ShouldWriteItAsOneBatch() {
+        // Given
+        start(3, LONG, 10, OverflowPolicy.BLOCK);
+
+        // When
+        submit("A", "B", "C");
+
+        // Then
+        await(() -> processor.getWrittenCount() == 3);
+        assertThat(inserter.batches()).containsExactly(List.of("A", "B", "C"));
+    }
+
+    @Test
+    void submit_WithPartialBatch_ShouldFlushItAfterMaxBatchAge() {
+        // Given
+        start(100, Duration.ofMillis(50), 10, OverflowPolicy.BLOCK);
+
+        // When
+        submit("A", "B");
+
+        // Then
+        await(() -> processor.getWrittenCount() == 2);
+        assertThat(inserter.batches()).containsExactly(List.of("A", "B"));
+    }
+
+    @Test
+    void submit_WithFullQueueAndDropPolicy_ShouldDropAndCount() {
+        // Given
+        start(1, Duration.ofMillis(1), 2, OverflowPolicy.DROP);
+        stallWriter();
+
+        // When
+        submit("B", "C", "D");
+
+        // Then
+        assertThat(processor.getDroppedCount()).isEqualTo(1);
+        inserter.release();
+        await(() -> processor.getWrittenCount() == 3);
+        assertThat(inserter.events()).containsExactly("A", "B", "C");
+    }
+
+    @Test
+    void submit_WithFullQueueAndSpillPolicy_ShouldWriteOnCallingThread() {
+        // Given
+        start(1, Duration.ofMillis(1), 2, OverflowPolicy.SPILL);
+        stallWriter();
+
+        // When
+        submit("B", "C", "D");
+
+        // Then
+        assertThat(processor.getSpilledCount()).isEqualTo(1);
+        assertThat(inserter.events()).containsExactly("D");
+        inserter.release();
+        await(() -> processor.getWrittenCount() == 3);
+        assertThat(inserter.events()).containsExactlyInAnyOrder("A", "B", "C", "D");
+    }
+
+    @Test
+    void submit_WithFullQueueAndBlockPolicy_ShouldWaitForRoom() throws Exception {
+        // Given
+        start(1, Duration.ofMillis(1), 2, OverflowPolicy.BLOCK);
+        stallWriter();
+        submit("B", "C");
+
+        // When
+        CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> submit("D"));
+
+        // Then
+        Thread.sleep(100);
+        assertThat(blocked).isNotDone();
+        inserter.release();
+        blocked.get(5, TimeUnit.SECONDS);
+        await(() -> processor.getWrittenCount() == 4);
+        assertThat(inserter.events()).containsExactly("A", "B", "C", "D");
+        assertThat(processor.getDroppedCount()).isZero();
+    }
+
+    @Test
+    void stop_ShouldWriteQueuedEventsAndLaterOnesSynchronously() throws Exception {
+        // Given
+        start(100, LONG, 10, OverflowPolicy.BLOCK);
+        submit("A", "B", "C");
+
+        // When
+        processor.stop();
+        submit("D");
+
+        // Then
+        assertThat(inserter.events()).containsExactly("A", "B", "C", "D");
+        assertThat(processor.getWrittenCount()).isEqualTo(4);
+        assertThat(processor.getQueueSize()).isZero();
+    }
+
+    @Test
+    void flush_WithRejectedEvent_ShouldRetryOneByOneAndCountOnlyTheLostEvent() throws Exception {
+        // Given
+        inserter.reject("BAD");
+        start(3, LONG, 10, OverflowPolicy.BLOCK);
+
+        // When
+        submit("A", "BAD", "C");
+
+        // Then
+        await(() -> processor.getWrittenCount() == 2 && processor.getFailedCount() == 1);
+        assertThat(inserter.events()).containsExactly("A", "C");
+    }
+
+    private void start(int batchSize, Duration maxBatchAge, int queueCapacity, OverflowPolicy overflowPolicy) {
+        AuditWriteBehindProperties properties = new AuditWriteBehindProperties();
+        properties.setEnabled(true);
+        properties.setBatchSize(batchSize);
+        properties.setMaxBatchAge(maxBatchAge);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setOverflowPolicy(overflowPolicy);
+        properties.setShutdownTimeout(Duration.ofSeconds(5));
+        processor = new AuditWriteBehindProcessor(inserter, properties);
+        processor.start();
+    }
+
+    // the writer takes "A" and hangs in the insert until release()
+    private void stallWriter() {
+        inserter.stall();
+        submit("A");
+        try {
+            assertThat(inserter.stalled.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void submit(String... types) {
+        for (String type : types) {
+            processor.submit(new AuditEvent(Instant.now(), "SYSTEM", type, Map.of("status", "SUCCESS")));
+        }
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition not met within 5 seconds");
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Records the written batches by event type. Can hang the writer thread to fill up the queue,
+     * and rejects every batch that contains a given type.
+     */
+    private static class RecordingInserter extends AuditEventBatchInserter {
+        private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+        private final CountDownLatch stalled = new CountDownLatch(1);
+        private volatile CountDownLatch gate;
+        private volatile String rejectedType;
+
+        RecordingInserter() {
+            super(null);
+        }
+
+        @Override
+        public void insertBatch(List<AuditEvent> events) {
+            List<String> types = events.stream().map(AuditEvent::getType).toList();
+            if (types.contains(rejectedType)) {
+                throw new IllegalStateException("rejected " + rejectedType);
+            }
+            CountDownLatch current = gate;
+            if (current != null && Thread.currentThread().getName().equals("audit-write-behind")) {
+                stalled.countDown();
+                try {
+                    current.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            batches.add(types);
+        }
+
+        void stall() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            CountDownLatch current = gate;
+            if (current != null) {
+                current.countDown();
+            }
+        }
+
+        void reject(String type) {
+            rejectedType = type;
+        }
+
+        List<List<String>> batches() {
+            return batches;
+        }
+
+        List<String> events() {
+            List<String> events = new ArrayList<>();
+            batches.forEach(events::addAll);
+            return events;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.parpet.customer_management.integration.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.parpet.customer_management.audit.AuditEventCountEstimator;
+import com.parpet.customer_management.audit.CustomAuditService;
+import com.parpet.customer_management.audit.PersistentAuditEventRepository;
+import com.parpet.customer_management.audit.dto.AuditEventFilter;
+import com.parpet.customer_management.audit.model.AuditEventEntity;
+import com.parpet.customer_management.audit.repository.AuditEventEntityRepository;
+import com.jayway.jsonpath.JsonPath;
+import com.parpet.customer_management.dto.incoming.QueryDto;
+import com.parpet.customer_management.dto.incoming.TotalCountMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class AuditEventREAD_Tests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuditEventEntityRepository auditEventEntityRepository;
+
+    @Autowired
+    @Qualifier("persistentAuditEventRepository")
+    private PersistentAuditEventRepository persistentAuditEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        auditEventEntityRepository.deleteAll();
+
+        List<AuditEventEntity> events = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            AuditEventEntity event = new AuditEventEntity();
+            event.setPrincipal("SYSTEM");
+            event.setType("CREATE_CUSTOMER");
+            event.setTimestamp(Instant.parse("2024-03-15T10:30:00Z").plusSeconds(i));
+            event.setData(Map.of("status", "SUCCESS"));
+            events.add(event);
+        }
+        auditEventEntityRepository.saveAll(events);
+    }
+
+    @Test
+    void getAuditEvents_WithExactTotal_ShouldReturnPage() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/auditevents/pageable")
+                        .param("page", "0")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.totalElements").value(5))
+                .andExpect(jsonPath("$.totalPages").value(3));
+    }
+
+    @Test
+    void getAuditEvents_WithTooLowEstimate_ShouldStillReportFollowingPage() {
+        // Given
+        CustomAuditService service = new CustomAuditService(persistentAuditEventRepository,
+                new AuditEventCountEstimator(jdbcTemplate, Duration.ofMinutes(1)) {
+                    @Override
+                    public long estimate() {
+                        return 1;
+                    }
+                });
+        QueryDto queryDto = QueryDto.builder()
+                .page(1)
+                .size(2)
+                .sort("[{\"field\":\"timestamp\",\"direction\":\"DESC\"}]")
+                .build();
+
+        // When
+        Slice<AuditEvent> slice = service.getAuditEvents(queryDto, AuditEventFilter.NONE, TotalCountMode.APPROXIMATE);
+
+        // Then
+        Page<AuditEvent> page = (Page<AuditEvent>) slice;
+        assertEquals(2, page.getNumberOfElements());
+        assertTrue(page.hasNext());
+        assertEquals(5, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+    }
+
+    @Test
+    void getAuditEvents_WithoutTotal_ShouldReturnSlice() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/auditevents/pageable")
+                        .param("page", "2")
+                        .param("size", "2")
+                        .param("total", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.last").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    void getAuditEvents_WithApproximateTotal_ShouldReturnPage() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/auditevents/pageable")
+                        .param("page", "0")
+                        .param("size", "2")
+                        .param("total", "approximate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.totalElements").exists());
+    }
+
+    @Test
+    void getAuditEvents_WithUnknownTotalMode_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/auditevents/pageable")
+                        .param("total", "sometimes"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAuditEvents_WithTimeRange_ShouldReturnOnlyEventsInRange() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/auditevents/pageable")
+                        .param("from", "2024-03-15T10:30:02Z")
+                        .param("to", "2024-03-15T10:30:04Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].timestamp").value("2024-03-15T10:30:03Z"))
+                .andExpect(jsonPath("$.content[1].timestamp").value("2024-03-15T10:30:02Z"))
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    void getAuditEvents_WithTimeRangeAndApproximateTotal_ShouldCountExactly() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/auditevents/pageable")
+                        .param("from", "2024-03-15T10:30:04Z")
+                        .param("size", "1")
+                        .param("total", "approximate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    void getAuditEvents_WithTimeRangeWithoutTotal_ShouldReturnSlice() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/auditevents/pageable")
+                        .param("to", "2024-03-15T10:30:03Z")
+                        .param("size", "1")
+                        .param("total", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].timestamp").value("2024-03-15T10:30:02Z"))
+                .andExpect(jsonPath("$.last").value(false));
+    }
+
+    @Test
+    void getAuditEvents_WithFromNotBeforeTo_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/auditevents/pageable")
+                        .param("from", "2024-03-15T10:30:04Z")
+                        .param("to", "2024-03-15T10:30:02Z"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void findAuditEvents_WithPrincipalAfterAndType_ShouldApplyFilters() throws Exception {
+        // Given
+        saveEvent("admin", "DELETE_CUSTOMER", "2024-03-15T10:30:03Z");
+        saveEvent("admin", "DELETE_CUSTOMER", "2024-03-15T10:30:09Z");
+        saveEvent("admin", "UPDATE_CUSTOMER", "2024-03-15T10:30:10Z");
+
+        // When & Then
+        mockMvc.perform(get("/actuator/auditevents")
+                        .param("principal", "admin")
+                        .param("after", "2024-03-15T10:30:03Z")
+                        .param("type", "DELETE_CUSTOMER"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events", hasSize(1)))
+                .andExpect(jsonPath("$.events[0].timestamp").value("2024-03-15T10:30:09Z"));
+    }
+
+    @Test
+    void getAuditEvents_WithPrincipalAndType_ShouldReturnOnlyMatchingEvents() throws Exception {
+        // Given
+        saveEvent("admin", "DELETE_CUSTOMER", "2024-03-15T10:30:03Z");
+        saveEvent("admin", "UPDATE_CUSTOMER", "2024-03-15T10:30:04Z");
+
+        // When & Then
+        mockMvc.perform(get("/actuator/auditevents/pageable")
+                        .param("principal", "admin")
+                        .param("type", "DELETE_CUSTOMER"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].type").value("DELETE_CUSTOMER"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void getAuditEvents_WithCursor_ShouldWalkAllMatchingEventsNewestFirst() throws Exception {
+        // Given
+        saveEvent("admin", "DELETE_CUSTOMER", "2024-03-15T10:30:03Z");
+
+        // When & Then
+        String first = mockMvc.perform(get("/actuator/auditevents/pageable")
+                        .param("cursor", "")
+                        .param("size", "2")
+                        .param("type", "CREATE_CUSTOMER")
+                        .param("from", "2024-03-15T10:30:02Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].timestamp").value("2024-03-15T10:30:05Z"))
+                .andExpect(jsonPath("$.content[1].timestamp").value("2024-03-15T10:30:04Z"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/actuator/auditevents/pageable")
+                        .param("cursor", JsonPath.<String>read(first, "$.nextCursor"))
+                        .param("size", "2")
+                        .param("type", "CREATE_CUSTOMER")
+                        .param("from", "2024-03-15T10:30:02Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].timestamp").value("2024-03-15T10:30:03Z"))
+                .andExpect(jsonPath("$.content[1].timestamp").value("2024-03-15T10:30:02Z"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getAuditEvents_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/auditevents/pageable")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void saveEvent(String principal, String type, String timestamp) {
+        AuditEventEntity event = new AuditEventEntity();
+        event.setPrincipal(principal);
+        event.setType(type);
+        event.setTimestamp(Instant.parse(timestamp));
+        event.setData(Map.of("status", "SUCCESS"));
+        auditEventEntityRepository.save(event);
+    }
+
+    @Test
+    void getAuditEvents_WithCborAccept_ShouldReturnSameDocumentAsJson() throws Exception {
+        // Given
+        String json = mockMvc.perform(get("/actuator/auditevents/pageable").param("size", "3"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // When
+        byte[] cbor = mockMvc.perform(get("/actuator/auditevents/pageable")
+                        .param("size", "3")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        assertEquals(new ObjectMapper().readTree(json).toString(), new CBORMapper().readTree(cbor).toString());
+    }
+}
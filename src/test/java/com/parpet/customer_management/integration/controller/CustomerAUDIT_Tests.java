@@ -0,0 +1,161 @@
+package com.parpet.customer_management.integration.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jayway.jsonpath.JsonPath;
+import com.parpet.customer_management.audit.model.AuditEventEntity;
+import com.parpet.customer_management.audit.repository.AuditEventEntityRepository;
+import com.parpet.customer_management.dto.incoming.CustomerCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class CustomerAUDIT_Tests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuditEventEntityRepository auditEventEntityRepository;
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        auditEventEntityRepository.deleteAll();
+    }
+
+    @Test
+    void getCustomerAudit_AfterCreateAndUpdate_ShouldReturnHistoryNewestFirst() throws Exception {
+        // Given
+        CustomerCommand command = new CustomerCommand();
+        command.setName("Audited Customer");
+        command.setAge(30);
+        command.setDateOfBirth(LocalDate.of(1994, 1, 1));
+
+        String created = mockMvc.perform(post("/api/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(command)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = ((Number) JsonPath.read(created, "$.id")).longValue();
+
+        command.setAddress("Budapest");
+        mockMvc.perform(put("/api/customers/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(command)))
+                .andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/" + id + "/audit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].type").value("UPDATE_CUSTOMER"))
+                .andExpect(jsonPath("$.content[1].type").value("CREATE_CUSTOMER"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void addAuditEvent_ShouldPromoteCustomerIdAndStatusToColumns() {
+        // When
+        AuditEventEntity saved = auditEventEntityRepository.save(AuditEventEntity.from(new AuditEvent(
+                Instant.parse("2024-03-15T10:30:00Z"), "SYSTEM", "DELETE_CUSTOMER",
+                Map.of("customerId", 42L, "status", "NOT_FOUND"))));
+
+        // Then
+        AuditEventEntity stored = auditEventEntityRepository.findById(saved.getId()).orElseThrow();
+        assertEquals(42L, stored.getCustomerId());
+        assertEquals("NOT_FOUND", stored.getStatus());
+    }
+
+    @Test
+    void getCustomerAudit_WithCursorAndStatus_ShouldPageOnlyThatCustomer() throws Exception {
+        // Given
+        for (int i = 1; i <= 3; i++) {
+            saveEvent(7L, "UPDATE_CUSTOMER", "SUCCESS", "2024-03-15T10:30:0" + i + "Z");
+        }
+        saveEvent(7L, "UPDATE_CUSTOMER", "GENERAL_ERROR", "2024-03-15T10:30:05Z");
+        saveEvent(8L, "UPDATE_CUSTOMER", "SUCCESS", "2024-03-15T10:30:06Z");
+
+        // When & Then
+        String first = mockMvc.perform(get("/api/customers/7/audit")
+                        .param("size", "2")
+                        .param("status", "SUCCESS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].timestamp").value("2024-03-15T10:30:03Z"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/customers/7/audit")
+                        .param("size", "2")
+                        .param("status", "SUCCESS")
+                        .param("cursor", JsonPath.<String>read(first, "$.nextCursor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].timestamp").value("2024-03-15T10:30:01Z"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void getCustomerAudit_WithBatchChunkEvents_ShouldIncludeChunksListingTheCustomer() throws Exception {
+        // Given
+        saveEvent(7L, "CREATE_CUSTOMER", "SUCCESS", "2024-03-15T10:30:01Z");
+        auditEventEntityRepository.save(AuditEventEntity.from(new AuditEvent(
+                Instant.parse("2024-03-15T10:30:02Z"), "SYSTEM", "BATCH_UPDATE_CUSTOMER",
+                Map.of("customerIds", List.of(7, 9), "status", "SUCCESS"))));
+        auditEventEntityRepository.save(AuditEventEntity.from(new AuditEvent(
+                Instant.parse("2024-03-15T10:30:03Z"), "SYSTEM", "FILTER_DELETE_CUSTOMER",
+                Map.of("customerIds", List.of(8, 9), "status", "SUCCESS"))));
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/7/audit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].type").value("BATCH_UPDATE_CUSTOMER"))
+                .andExpect(jsonPath("$.content[1].type").value("CREATE_CUSTOMER"));
+        mockMvc.perform(get("/api/customers/9/audit").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].type").value("FILTER_DELETE_CUSTOMER"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void getCustomerAudit_WithUnknownCustomer_ShouldReturnEmptyPage() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers/999999/audit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    private void saveEvent(Long customerId, String type, String status, String timestamp) {
+        auditEventEntityRepository.save(AuditEventEntity.from(new AuditEvent(
+                Instant.parse(timestamp), "SYSTEM", type, Map.of("customerId", customerId, "status", status))));
+    }
+}
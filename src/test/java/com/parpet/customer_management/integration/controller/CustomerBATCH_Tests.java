@@ -0,0 +1,139 @@
+package com.parpet.customer_management.integration.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.parpet.customer_management.dto.incoming.CustomerCommand;
+import com.parpet.customer_management.dto.incoming.CustomerUpdateItem;
+import com.parpet.customer_management.model.Customer;
+import com.parpet.customer_management.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class CustomerBATCH_Tests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void createCustomers_WithMixedItems_ShouldReturnPerItemResults() throws Exception {
+        // Given
+        CustomerCommand valid = command("Batch Customer");
+        CustomerCommand invalid = command("");
+
+        // When & Then
+        mockMvc.perform(post("/api/customers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(valid, invalid))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.items[0].customer.name").value("Batch Customer"))
+                .andExpect(jsonPath("$.items[1].status").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.items[1].errors.name").exists());
+
+        assertEquals(1, customerRepository.count());
+    }
+
+    @Test
+    void updateCustomers_WithUnknownId_ShouldReturnNotFoundItem() throws Exception {
+        // Given
+        Customer existing = customerRepository.save(customer("Original Name"));
+        CustomerUpdateItem update = new CustomerUpdateItem();
+        update.setId(existing.getId());
+        update.setCustomer(command("Updated Name"));
+        CustomerUpdateItem unknown = new CustomerUpdateItem();
+        unknown.setId(99999L);
+        unknown.setCustomer(command("Nobody"));
+
+        // When & Then
+        mockMvc.perform(put("/api/customers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(update, unknown))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].status").value("UPDATED"))
+                .andExpect(jsonPath("$.items[0].customer.name").value("Updated Name"))
+                .andExpect(jsonPath("$.items[1].status").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.items[1].id").value(99999));
+
+        assertEquals("Updated Name", customerRepository.findById(existing.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void deleteCustomers_WithExistingAndUnknownIds_ShouldDeleteExisting() throws Exception {
+        // Given
+        Customer existing = customerRepository.save(customer("To Delete"));
+
+        // When & Then
+        mockMvc.perform(delete("/api/customers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(existing.getId(), 99999L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.items[0].status").value("DELETED"))
+                .andExpect(jsonPath("$.items[1].status").value("NOT_FOUND"));
+
+        assertFalse(customerRepository.existsById(existing.getId()));
+    }
+
+    @Test
+    void createCustomers_WithEmptyBatch_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/customers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private CustomerCommand command(String name) {
+        CustomerCommand command = new CustomerCommand();
+        command.setName(name);
+        command.setAge(30);
+        command.setDateOfBirth(LocalDate.of(1994, 1, 1));
+        command.setGender("M");
+        return command;
+    }
+
+    private Customer customer(String name) {
+        Customer customer = new Customer();
+        customer.setName(name);
+        customer.setAge(30);
+        customer.setDateOfBirth(LocalDate.of(1994, 1, 1));
+        customer.setGender("M");
+        return customer;
+    }
+}
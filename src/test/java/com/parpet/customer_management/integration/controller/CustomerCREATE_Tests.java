@@ -2,6 +2,8 @@ package com.parpet.customer_management.integration.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.parpet.customer_management.audit.model.AuditEventEntity;
+import com.parpet.customer_management.audit.repository.AuditEventEntityRepository;
 import com.parpet.customer_management.dto.incoming.CustomerCommand;
 import com.parpet.customer_management.dto.outgoing.CustomerDetails;
 import com.parpet.customer_management.repository.CustomerRepository;
@@ -16,6 +18,7 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -32,6 +35,9 @@ class CustomerCREATE_Tests {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private AuditEventEntityRepository auditEventEntityRepository;
+
     private ObjectMapper objectMapper;
 
     @BeforeEach
@@ -75,6 +81,31 @@ class CustomerCREATE_Tests {
         assertTrue(customerRepository.findById(customerResult.getId()).isPresent());
     }
 
+    @Test
+    void createCustomer_WithValidData_ShouldAuditRequestAsStructuredData() throws Exception {
+        // Given
+        auditEventEntityRepository.deleteAll();
+        CustomerCommand command = new CustomerCommand();
+        command.setName("Audited Customer");
+        command.setAge(30);
+        command.setDateOfBirth(LocalDate.of(1994, 1, 1));
+
+        // When
+        mockMvc.perform(post("/api/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(command)))
+                .andExpect(status().isOk());
+
+        // Then
+        AuditEventEntity event = auditEventEntityRepository.findAll().stream()
+                .filter(e -> "CREATE_CUSTOMER".equals(e.getType()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(Map.of("name", "Audited Customer", "age", 30, "dateOfBirth", "1994-01-01"),
+                event.getData().get("request"));
+        assertEquals("SUCCESS", event.getData().get("status"));
+    }
+
     @Test
     void createCustomer_WithNullName_ShouldReturnBadRequest() throws Exception {
         // Given
@@ -1,6 +1,8 @@
 package com.parpet.customer_management.integration.controller;
 
 
+import com.parpet.customer_management.audit.model.AuditEventEntity;
+import com.parpet.customer_management.audit.repository.AuditEventEntityRepository;
 import com.parpet.customer_management.model.Customer;
 import com.parpet.customer_management.repository.CustomerRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,14 +10,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -29,6 +38,12 @@ public class CustomerDELETE_Tests {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private AuditEventEntityRepository auditEventEntityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Customer testCustomer;
 
     @BeforeEach
@@ -65,4 +80,76 @@ public class CustomerDELETE_Tests {
         mockMvc.perform(MockMvcRequestBuilders.delete("/api/customers/{id}", nonExistentCustomerId))
                 .andExpect(status().isNotFound());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void deleteCustomer_AfterRead_ShouldNotReturnCachedCustomer() throws Exception {
+        // Given
+        Long customerId = testCustomer.getId();
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/customers/{id}", customerId))
+                .andExpect(status().isOk());
+
+        // When
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/customers/{id}", customerId))
+                .andExpect(status().isNoContent());
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/customers/{id}", customerId))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/customers/{id}", customerId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    // each chunk commits on its own, as in production: the test transaction would swallow the chunk events
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void deleteCustomers_ByFilter_ShouldDeleteOnlyMatchingInChunksWithAuditEventPerChunk() throws Exception {
+        // Given (more than one chunk of customer.batch.chunk-size)
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            Customer customer = new Customer();
+            customer.setName("Bulk Customer " + i);
+            customer.setAge(70);
+            customer.setDateOfBirth(LocalDate.of(1954, 1, 1));
+            customer.setGender(i % 2 == 0 ? "F" : "M");
+            customers.add(customer);
+        }
+        customerRepository.saveAll(customers);
+        long before = customerRepository.count();
+        auditEventEntityRepository.deleteAllInBatch();
+
+        try {
+            // When & Then
+            mockMvc.perform(MockMvcRequestBuilders.delete("/api/customers")
+                            .param("namePrefix", "Bulk")
+                            .param("gender", "F"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.deleted").value(125));
+
+            assertEquals(before - 125, customerRepository.count());
+            assertTrue(customerRepository.existsById(testCustomer.getId()));
+
+            List<AuditEventEntity> events = auditEventEntityRepository.findAll();
+            assertTrue(events.size() > 1);
+            assertTrue(events.stream().allMatch(event -> "FILTER_DELETE_CUSTOMER".equals(event.getType())));
+            Set<Long> auditedIds = Set.copyOf(jdbcTemplate.queryForList(
+                    "SELECT customer_id FROM audit_event_customers", Long.class));
+            assertEquals(125, auditedIds.size());
+            assertTrue(auditedIds.stream().noneMatch(customerRepository::existsById));
+        } finally {
+            // committed, nothing rolls it back; one by one, so the caches and the search index follow
+            customerRepository.deleteAll();
+            auditEventEntityRepository.deleteAllInBatch();
+        }
+    }
+
+    @Test
+    void deleteCustomers_WithoutFilter_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/customers"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/customers").param("namePrefix", " "))
+                .andExpect(status().isBadRequest());
+
+        assertTrue(customerRepository.existsById(testCustomer.getId()));
+    }
+}
@@ -0,0 +1,106 @@
+package com.parpet.customer_management.integration.controller;
+
+import com.parpet.customer_management.model.Customer;
+import com.parpet.customer_management.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: the export runs on an async thread in its own transaction,
+// so the test data has to be committed.
+@SpringBootTest
+@AutoConfigureMockMvc
+class CustomerEXPORT_Tests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+
+        Customer first = new Customer();
+        first.setName("Kiss János");
+        first.setAge(30);
+        first.setDateOfBirth(LocalDate.of(1994, 1, 15));
+        first.setAddress("1234 Budapest, Példa utca 1.");
+        first.setGender("M");
+        customerRepository.save(first);
+
+        Customer second = new Customer();
+        second.setName("Nagy \"Kati\"");
+        second.setDateOfBirth(LocalDate.of(1990, 5, 1));
+        customerRepository.save(second);
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void exportCustomers_AsNdjson_ShouldWriteOneLinePerCustomer() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/customers/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"name\":\"Kiss János\""));
+        assertTrue(lines[0].contains("\"dateOfBirth\":\"1994-01-15\""));
+    }
+
+    @Test
+    void exportCustomers_AsGzippedCsv_ShouldQuoteSpecialCharacters() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/customers/export")
+                        .param("format", "csv")
+                        .param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        byte[] compressed = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = csv.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,name,age,dateOfBirth,address,gender", lines[0]);
+        assertTrue(lines[1].endsWith(",Kiss János,30,1994-01-15,\"1234 Budapest, Példa utca 1.\",M"));
+        assertTrue(lines[2].endsWith(",\"Nagy \"\"Kati\"\"\",,1990-05-01,,"));
+    }
+}
@@ -0,0 +1,134 @@
+package com.parpet.customer_management.integration.controller;
+
+import com.parpet.customer_management.model.Customer;
+import com.parpet.customer_management.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class CustomerFILTER_Tests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+        customerRepository.saveAll(List.of(
+                customer("Kiss János", 30, LocalDate.of(1994, 3, 1), "M", "Budapest, Fő utca 1."),
+                customer("Kiss Anna", 25, LocalDate.of(1999, 7, 15), "F", "Szeged, Kossuth tér 2."),
+                customer("Nagy Péter", 45, LocalDate.of(1979, 11, 30), "M", "Budapest, Váci út 10."),
+                customer("100%_Kft", 60, LocalDate.of(1964, 1, 1), "F", null)
+        ));
+    }
+
+    @Test
+    void getCustomers_WithNamePrefix_ShouldReturnMatchingCustomers() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers").param("namePrefix", "Kiss"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("Kiss Anna"))
+                .andExpect(jsonPath("$.content[1].name").value("Kiss János"));
+    }
+
+    @Test
+    void getCustomers_WithNamePrefixContainingWildcards_ShouldMatchLiterally() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers").param("namePrefix", "100%_"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name").value("100%_Kft"));
+
+        mockMvc.perform(get("/api/customers").param("namePrefix", "%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+    }
+
+    @Test
+    void getCustomers_WithAgeRange_ShouldReturnCustomersInRange() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers")
+                        .param("minAge", "25")
+                        .param("maxAge", "45"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3));
+    }
+
+    @Test
+    void getCustomers_WithDateOfBirthRangeAndGender_ShouldCombinePredicates() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers")
+                        .param("bornFrom", "1970-01-01")
+                        .param("bornTo", "1995-12-31")
+                        .param("gender", "M"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("Kiss János"))
+                .andExpect(jsonPath("$.content[1].name").value("Nagy Péter"));
+    }
+
+    @Test
+    void getCustomers_WithAddress_ShouldMatchCaseInsensitiveSubstring() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers").param("address", "budapest"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    void getCustomers_WithCursorAndFilter_ShouldReturnFilteredKeysetPage() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers")
+                        .param("cursor", "")
+                        .param("size", "5")
+                        .param("gender", "F"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void getCustomers_WithInvertedAgeRange_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers")
+                        .param("minAge", "50")
+                        .param("maxAge", "20"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getCustomers_WithInvalidDate_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers").param("bornFrom", "not-a-date"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static Customer customer(String name, int age, LocalDate dateOfBirth, String gender, String address) {
+        Customer customer = new Customer();
+        customer.setName(name);
+        customer.setAge(age);
+        customer.setDateOfBirth(dateOfBirth);
+        customer.setGender(gender);
+        customer.setAddress(address);
+        return customer;
+    }
+}
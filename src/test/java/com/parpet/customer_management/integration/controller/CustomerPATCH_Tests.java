@@ -0,0 +1,227 @@
+package com.parpet.customer_management.integration.controller;
+
+import com.parpet.customer_management.model.Customer;
+import com.parpet.customer_management.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class CustomerPATCH_Tests {
+    private static final MediaType MERGE_PATCH_JSON = MediaType.parseMediaType("application/merge-patch+json");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private Customer existingCustomer;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+
+        existingCustomer = new Customer();
+        existingCustomer.setName("Original Name");
+        existingCustomer.setAge(30);
+        existingCustomer.setDateOfBirth(LocalDate.of(1994, 1, 1));
+        existingCustomer.setGender("M");
+        existingCustomer.setAddress("Original Address");
+        existingCustomer = customerRepository.save(existingCustomer);
+    }
+
+    @Test
+    void patchCustomer_WithSingleField_ShouldChangeOnlyThatField() throws Exception {
+        // When
+        mockMvc.perform(patch("/api/customers/{id}", existingCustomer.getId())
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"address\": \"Patched Address\"}"))
+                .andExpect(status().isNoContent());
+
+        // Then
+        mockMvc.perform(get("/api/customers/{id}", existingCustomer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.address").value("Patched Address"))
+                .andExpect(jsonPath("$.name").value("Original Name"))
+                .andExpect(jsonPath("$.age").value(30))
+                .andExpect(jsonPath("$.gender").value("M"))
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
+    @Test
+    void patchCustomer_WithExplicitNull_ShouldClearField() throws Exception {
+        // When
+        mockMvc.perform(patch("/api/customers/{id}", existingCustomer.getId())
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"address\": null, \"age\": 31}"))
+                .andExpect(status().isNoContent());
+
+        // Then
+        Customer patched = customerRepository.findById(existingCustomer.getId()).orElseThrow();
+        assertNull(patched.getAddress());
+        assertEquals(31, patched.getAge());
+        assertEquals("Original Name", patched.getName());
+    }
+
+    @Test
+    void patchCustomer_WithPlainJson_ShouldBeAccepted() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/customers/{id}", existingCustomer.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Patched Name\"}"))
+                .andExpect(status().isNoContent());
+
+        assertEquals("Patched Name", customerRepository.findById(existingCustomer.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void patchCustomer_WithInvalidValue_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/customers/{id}", existingCustomer.getId())
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"name\": \"\", \"gender\": \"X\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.name").exists())
+                .andExpect(jsonPath("$.gender").exists());
+
+        assertEquals("Original Name", customerRepository.findById(existingCustomer.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void patchCustomer_WithNullRequiredField_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/customers/{id}", existingCustomer.getId())
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"dateOfBirth\": null}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.dateOfBirth").exists());
+    }
+
+    @Test
+    void patchCustomer_WithFutureDateOfBirth_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/customers/{id}", existingCustomer.getId())
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"dateOfBirth\": \"" + LocalDate.now().plusDays(1) + "\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.dateOfBirth").exists());
+    }
+
+    @Test
+    void patchCustomer_WithUnknownOrReadOnlyField_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/customers/{id}", existingCustomer.getId())
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"version\": 7}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/api/customers/{id}", existingCustomer.getId())
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"age\": \"thirty\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/api/customers/{id}", existingCustomer.getId())
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void patchCustomer_WithNonExistentId_ShouldReturnNotFound() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/customers/{id}", 99999L)
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"address\": \"Patched Address\"}"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(patch("/api/customers/{id}", 99999L)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"address\": \"Patched Address\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void patchCustomer_WithIfMatch_ShouldCheckVersion() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/customers/{id}", existingCustomer.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"address\": \"First Address\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(patch("/api/customers/{id}", existingCustomer.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"address\": \"Lost Address\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errorCode").value("PRECONDITION_FAILED"));
+
+        assertEquals("First Address", customerRepository.findById(existingCustomer.getId()).orElseThrow().getAddress());
+    }
+
+    @Test
+    void patchCustomer_WithSeveralIfMatchTags_ShouldParseThemLikePut() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/customers/{id}", existingCustomer.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"7\", \"0+cbor\"")
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"address\": \"First Address\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+
+        mockMvc.perform(patch("/api/customers/{id}", existingCustomer.getId())
+                        .header(HttpHeaders.IF_MATCH, "W/\"1\", \"abc\"")
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"address\": \"Lost Address\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errorCode").value("PRECONDITION_FAILED"));
+
+        assertEquals("First Address", customerRepository.findById(existingCustomer.getId()).orElseThrow().getAddress());
+    }
+
+    @Test
+    void patchCustomer_AfterRead_ShouldNotReturnStaleCustomer() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/customers/{id}", existingCustomer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Original Name"));
+        mockMvc.perform(get("/api/customers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Original Name"));
+
+        // When
+        mockMvc.perform(patch("/api/customers/{id}", existingCustomer.getId())
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"name\": \"Patched Name\"}"))
+                .andExpect(status().isNoContent());
+
+        // Then
+        mockMvc.perform(get("/api/customers/{id}", existingCustomer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Patched Name"));
+        mockMvc.perform(get("/api/customers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Patched Name"));
+    }
+}
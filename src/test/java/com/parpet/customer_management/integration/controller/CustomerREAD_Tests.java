@@ -1,24 +1,45 @@
 package com.parpet.customer_management.integration.controller;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.parpet.customer_management.audit.model.AuditEventEntity;
+import com.parpet.customer_management.audit.repository.AuditEventEntityRepository;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.parpet.customer_management.dto.outgoing.CustomerDetails;
 import com.parpet.customer_management.model.Customer;
 import com.parpet.customer_management.repository.CustomerRepository;
+import com.parpet.customer_management.service.CustomerCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -36,6 +57,12 @@ class CustomerREAD_Tests {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private AuditEventEntityRepository auditEventEntityRepository;
+
+    @Autowired
+    private CustomerCache customerCache;
+
     @BeforeEach
     void setUp() {
         objectMapper.registerModule(new JavaTimeModule());
@@ -93,4 +120,389 @@ class CustomerREAD_Tests {
                 .andExpect(jsonPath("$.content[0].name").value("Test Customer 4"))
                 .andExpect(jsonPath("$.content[1].name").value("Test Customer 5"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getCustomers_WithCursor_ShouldWalkAllPagesWithoutOffset() throws Exception {
+        // Given
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            Customer customer = new Customer();
+            customer.setName("Test Customer " + i);
+            customer.setAge(20 + i);
+            customer.setDateOfBirth(LocalDate.of(1990, 1, i));
+            customer.setGender("M");
+            customers.add(customer);
+        }
+        customerRepository.saveAll(customers);
+
+        // When & Then
+        MvcResult firstPage = mockMvc.perform(get("/api/customers")
+                        .param("cursor", "")
+                        .param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.content[2].name").value("Test Customer 3"))
+                .andReturn();
+        String nextCursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(get("/api/customers")
+                        .param("cursor", nextCursor)
+                        .param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                .andExpect(jsonPath("$.content[0].name").value("Test Customer 4"))
+                .andExpect(jsonPath("$.content[1].name").value("Test Customer 5"));
+    }
+
+    @Test
+    void getCustomers_WithCursorAndDescendingSortOverDuplicates_ShouldWalkEveryCustomerOnce() throws Exception {
+        // Given
+        List<Customer> customers = new ArrayList<>();
+        for (String name : List.of("Bravo", "Bravo", "Bravo", "Alpha", "Alpha")) {
+            Customer customer = new Customer();
+            customer.setName(name);
+            customer.setAge(30);
+            customer.setDateOfBirth(LocalDate.of(1990, 1, 1));
+            customer.setGender("F");
+            customers.add(customer);
+        }
+        List<Long> ids = customerRepository.saveAll(customers).stream().map(Customer::getId).sorted().toList();
+        String sort = "[{\"field\":\"name\",\"direction\":\"DESC\"}]";
+
+        // When
+        List<Long> walked = new ArrayList<>();
+        String cursor = "";
+        do {
+            MvcResult page = mockMvc.perform(get("/api/customers")
+                            .param("cursor", cursor)
+                            .param("sort", sort)
+                            .param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            String body = page.getResponse().getContentAsString();
+            List<Number> pageIds = JsonPath.read(body, "$.content[*].id");
+            pageIds.forEach(id -> walked.add(id.longValue()));
+            cursor = JsonPath.<Boolean>read(body, "$.hasNext") ? JsonPath.read(body, "$.nextCursor") : null;
+        } while (cursor != null);
+
+        // Then
+        assertEquals(ids, walked);
+    }
+
+    @Test
+    void getCustomers_WithCursorAndNullableSortField_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers")
+                        .param("cursor", "")
+                        .param("sort", "[{\"field\":\"age\",\"direction\":\"ASC\"}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getCustomers_WithCursorOfDifferentSort_ShouldReturnBadRequest() throws Exception {
+        // Given
+        for (int i = 1; i <= 3; i++) {
+            Customer customer = new Customer();
+            customer.setName("Test Customer " + i);
+            customer.setDateOfBirth(LocalDate.of(1990, 1, i));
+            customerRepository.save(customer);
+        }
+        MvcResult firstPage = mockMvc.perform(get("/api/customers")
+                        .param("cursor", "")
+                        .param("size", "1"))
+                .andReturn();
+        String nextCursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        // When & Then
+        mockMvc.perform(get("/api/customers")
+                        .param("cursor", nextCursor)
+                        .param("sort", "[{\"field\":\"dateOfBirth\",\"direction\":\"desc\"}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getCustomers_WithNotSortableField_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers")
+                        .param("sort", "[{\"field\":\"password\",\"direction\":\"ASC\"}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getCustomers_WithUpperCaseDescDirection_ShouldSortDescending() throws Exception {
+        // Given
+        for (int i = 1; i <= 3; i++) {
+            Customer customer = new Customer();
+            customer.setName("Test Customer " + i);
+            customer.setDateOfBirth(LocalDate.of(1990, 1, i));
+            customerRepository.save(customer);
+        }
+
+        // When & Then
+        mockMvc.perform(get("/api/customers")
+                        .param("sort", "[{\"field\":\"name\",\"direction\":\"DESC\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Test Customer 3"));
+    }
+
+    @Test
+    void getCustomers_AfterWrite_ShouldNotReturnCachedPage() throws Exception {
+        // Given
+        Customer customer = new Customer();
+        customer.setName("Test Customer 1");
+        customer.setAge(21);
+        customer.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        customer.setGender("M");
+        customerRepository.save(customer);
+
+        mockMvc.perform(get("/api/customers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        Customer second = new Customer();
+        second.setName("Test Customer 2");
+        second.setAge(22);
+        second.setDateOfBirth(LocalDate.of(1990, 1, 2));
+        second.setGender("F");
+        customerRepository.save(second);
+
+        // When & Then
+        mockMvc.perform(get("/api/customers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[1].name").value("Test Customer 2"));
+    }
+
+    @Test
+    void getCustomer_WhenCustomerExists_ShouldReturnCustomer() throws Exception {
+        // Given
+        Customer customer = new Customer();
+        customer.setName("Single Customer");
+        customer.setAge(40);
+        customer.setDateOfBirth(LocalDate.of(1984, 2, 2));
+        customer.setGender("F");
+        customer = customerRepository.save(customer);
+
+        // When & Then (the second call is served from the cache)
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/customers/{id}", customer.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(customer.getId()))
+                    .andExpect(jsonPath("$.name").value("Single Customer"))
+                    .andExpect(jsonPath("$.dateOfBirth").value("1984-02-02"));
+        }
+    }
+
+    @Test
+    void getCustomer_WhenCustomerDoesNotExist_ShouldReturnNotFound() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers/{id}", 99999L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getCustomerAndList_ShouldBeAudited() throws Exception {
+        // Given
+        Customer customer = new Customer();
+        customer.setName("Audited Reader");
+        customer.setAge(40);
+        customer.setDateOfBirth(LocalDate.of(1984, 2, 2));
+        customer = customerRepository.save(customer);
+
+        // When
+        mockMvc.perform(get("/api/customers/{id}", customer.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/customers"))
+                .andExpect(status().isOk());
+
+        // Then
+        Long id = customer.getId();
+        List<AuditEventEntity> events = auditEventEntityRepository.findAll();
+        assertTrue(events.stream().anyMatch(e -> "GET_CUSTOMER".equals(e.getType())
+                && id.equals(e.getCustomerId()) && "SUCCESS".equals(e.getStatus())));
+        assertTrue(events.stream().anyMatch(e -> "LIST_CUSTOMERS".equals(e.getType()) && "SUCCESS".equals(e.getStatus())));
+    }
+
+    @Test
+    void getCustomer_WhenEvictedDuringLoad_ShouldNotKeepLoadedValue() throws Exception {
+        // Given
+        Long id = 424242L;
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<CustomerDetails> read = CompletableFuture.supplyAsync(() -> customerCache.get(id, () -> {
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return cacheTestCustomer(id, "Before Delete");
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // When (a delete evicts the id while the read is still loading it)
+        // the load holds no cache lock, so the evict does not wait for it
+        CompletableFuture.runAsync(() -> customerCache.evict(id)).get(1, TimeUnit.SECONDS);
+        release.countDown();
+        read.get(5, TimeUnit.SECONDS);
+
+        // Then
+        CustomerDetails reloaded = customerCache.get(id, () -> cacheTestCustomer(id, "After Delete"));
+        assertEquals("After Delete", reloaded.getName());
+    }
+
+    @Test
+    void getCustomer_WithMatchingIfNoneMatch_ShouldReturnNotModified() throws Exception {
+        // Given
+        Customer customer = new Customer();
+        customer.setName("Conditional Customer");
+        customer.setAge(40);
+        customer.setDateOfBirth(LocalDate.of(1984, 2, 2));
+        customer = customerRepository.save(customer);
+
+        String eTag = mockMvc.perform(get("/api/customers/{id}", customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.version").value(0))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/{id}", customer.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getCustomers_WithMatchingIfNoneMatch_ShouldReturnNotModifiedUntilChanged() throws Exception {
+        // Given
+        Customer customer = new Customer();
+        customer.setName("Test Customer 1");
+        customer.setAge(21);
+        customer.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        customerRepository.save(customer);
+
+        String eTag = mockMvc.perform(get("/api/customers"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        mockMvc.perform(get("/api/customers").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        Customer second = new Customer();
+        second.setName("Test Customer 2");
+        second.setAge(22);
+        second.setDateOfBirth(LocalDate.of(1990, 1, 2));
+        customerRepository.save(second);
+
+        MvcResult changed = mockMvc.perform(get("/api/customers").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andReturn();
+        assertNotEquals(eTag, changed.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void getCustomers_WithCursor_ShouldReturnStableETag() throws Exception {
+        // Given
+        Customer customer = new Customer();
+        customer.setName("Test Customer 1");
+        customer.setAge(21);
+        customer.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        customerRepository.save(customer);
+
+        // When
+        String first = mockMvc.perform(get("/api/customers").param("cursor", ""))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String second = mockMvc.perform(get("/api/customers").param("cursor", ""))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Then
+        assertEquals(first, second);
+    }
+
+    @Test
+    void getCustomers_WithBinaryAccept_ShouldReturnSameDocumentAsJson() throws Exception {
+        // Given
+        for (int i = 1; i <= 3; i++) {
+            Customer customer = new Customer();
+            customer.setName("Test Customer " + i);
+            customer.setAge(20 + i);
+            customer.setDateOfBirth(LocalDate.of(1990, 1, i));
+            customer.setAddress("Address " + i);
+            customer.setGender("F");
+            customerRepository.save(customer);
+        }
+        JsonNode json = objectMapper.readTree(mockMvc.perform(get("/api/customers"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray());
+
+        // When & Then
+        Map<MediaType, ObjectMapper> formats = Map.of(
+                MediaType.APPLICATION_CBOR, new CBORMapper(),
+                MediaType.parseMediaType("application/x-jackson-smile"), new SmileMapper());
+        for (Map.Entry<MediaType, ObjectMapper> format : formats.entrySet()) {
+            byte[] body = mockMvc.perform(get("/api/customers").accept(format.getKey()))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(format.getKey()))
+                    .andReturn().getResponse().getContentAsByteArray();
+            // compared as text: the binary formats may keep a small long as an int node
+            assertEquals(json.toString(), format.getValue().readTree(body).toString());
+        }
+    }
+
+    @Test
+    void getCustomer_WithBinaryAccept_ShouldTagEachRepresentationAndVaryByAccept() throws Exception {
+        // Given
+        Customer customer = new Customer();
+        customer.setName("Test Customer");
+        customer.setAge(30);
+        customer.setDateOfBirth(LocalDate.of(1994, 1, 1));
+        Long id = customerRepository.save(customer).getId();
+
+        // When
+        MvcResult json = mockMvc.perform(get("/api/customers/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn();
+        MvcResult cbor = mockMvc.perform(get("/api/customers/{id}", id).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn();
+        String jsonETag = json.getResponse().getHeader(HttpHeaders.ETAG);
+        String cborETag = cbor.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Then
+        assertNotEquals(jsonETag, cborETag);
+        // a cached JSON body must not be revalidated for a CBOR client
+        mockMvc.perform(get("/api/customers/{id}", id)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/customers/{id}", id)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, cborETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/customers")
+                        .header(HttpHeaders.ACCEPT, "application/cbor;q=0.5, application/json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)));
+    }
+
+    private static Customer cacheTestCustomer(Long id, String name) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setName(name);
+        customer.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        customer.setVersion(0L);
+        return customer;
+    }
+}
@@ -0,0 +1,101 @@
+package com.parpet.customer_management.integration.controller;
+
+import com.parpet.customer_management.audit.repository.AuditEventEntityRepository;
+import com.parpet.customer_management.model.Customer;
+import com.parpet.customer_management.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: the search index is only updated after the writing transaction has
+// committed, so the test data has to be committed. The audited DELETE commits an audit event as
+// well, so every test removes the customers and the audit events it left behind.
+@SpringBootTest
+@AutoConfigureMockMvc
+class CustomerSEARCH_Tests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AuditEventEntityRepository auditEventEntityRepository;
+
+    private Customer janos;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+
+        janos = customerRepository.save(customer("Kiss János", "1234 Budapest, Váci út 10."));
+        customerRepository.save(customer("Kovács Anna", "6720 Szeged, Kárász utca 5."));
+        customerRepository.save(customer("Nagy Péter", "1111 Budapest, Bartók Béla út 3."));
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll();
+        auditEventEntityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void searchCustomers_WithTypoInName_ShouldReturnBestMatchFirst() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers/search").param("q", "Kis Janos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].customer.name").value("Kiss János"))
+                .andExpect(jsonPath("$[0].score").isNumber());
+    }
+
+    @Test
+    void searchCustomers_ByAddressFragment_ShouldReturnMatchingCustomers() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers/search").param("q", "vaci ut"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].customer.name").value("Kiss János"));
+    }
+
+    @Test
+    void searchCustomers_AfterDelete_ShouldNotReturnDeletedCustomer() throws Exception {
+        // Given
+        mockMvc.perform(delete("/api/customers/{id}", janos.getId()))
+                .andExpect(status().isNoContent());
+
+        // When & Then
+        mockMvc.perform(get("/api/customers/search").param("q", "Kiss János"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void searchCustomers_WithEmptyQuery_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/customers/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static Customer customer(String name, String address) {
+        Customer customer = new Customer();
+        customer.setName(name);
+        customer.setAge(30);
+        customer.setDateOfBirth(LocalDate.of(1994, 1, 15));
+        customer.setAddress(address);
+        customer.setGender("M");
+        return customer;
+    }
+}
@@ -6,12 +6,16 @@ import com.parpet.customer_management.dto.incoming.CustomerCommand;
 import com.parpet.customer_management.dto.outgoing.CustomerDetails;
 import com.parpet.customer_management.model.Customer;
 import com.parpet.customer_management.repository.CustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,7 +23,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -33,6 +40,12 @@ class CustomerUPDATE_Tests {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private ObjectMapper objectMapper;
     private Customer existingCustomer;
 
@@ -209,4 +222,149 @@ class CustomerUPDATE_Tests {
                         .content(objectMapper.writeValueAsString(updateCommand)))
                 .andExpect(status().isBadRequest());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void updateCustomer_AfterRead_ShouldNotReturnStaleCustomer() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/customers/{id}", existingCustomer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Original Name"));
+
+        CustomerCommand updateCommand = new CustomerCommand();
+        updateCommand.setName("Updated Name");
+        updateCommand.setAge(35);
+        updateCommand.setDateOfBirth(LocalDate.of(1989, 1, 1));
+
+        // When
+        mockMvc.perform(put("/api/customers/{id}", existingCustomer.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateCommand)))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/api/customers/{id}", existingCustomer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Updated Name"));
+    }
+
+    @Test
+    void updateCustomer_WithMatchingIfMatch_ShouldReturnNewETag() throws Exception {
+        // Given
+        CustomerCommand updateCommand = new CustomerCommand();
+        updateCommand.setName("Updated Name");
+        updateCommand.setAge(35);
+        updateCommand.setDateOfBirth(LocalDate.of(1989, 1, 1));
+
+        // When & Then
+        mockMvc.perform(put("/api/customers/{id}", existingCustomer.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateCommand)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
+    @Test
+    void updateCustomer_WithIfMatchOfBinaryRepresentation_ShouldMatchSameVersion() throws Exception {
+        // Given
+        String cborETag = mockMvc.perform(get("/api/customers/{id}", existingCustomer.getId())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        CustomerCommand updateCommand = new CustomerCommand();
+        updateCommand.setName("Updated Name");
+        updateCommand.setAge(35);
+        updateCommand.setDateOfBirth(LocalDate.of(1989, 1, 1));
+
+        // When & Then
+        mockMvc.perform(put("/api/customers/{id}", existingCustomer.getId())
+                        .header(HttpHeaders.IF_MATCH, cborETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateCommand)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    void updateCustomer_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        // Given
+        CustomerCommand updateCommand = new CustomerCommand();
+        updateCommand.setName("Updated Name");
+        updateCommand.setAge(35);
+        updateCommand.setDateOfBirth(LocalDate.of(1989, 1, 1));
+
+        mockMvc.perform(put("/api/customers/{id}", existingCustomer.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateCommand)))
+                .andExpect(status().isOk());
+
+        updateCommand.setName("Lost Update");
+
+        // When & Then
+        mockMvc.perform(put("/api/customers/{id}", existingCustomer.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateCommand)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errorCode").value("PRECONDITION_FAILED"));
+
+        Customer unchangedCustomer = customerRepository.findById(existingCustomer.getId()).orElseThrow();
+        assertEquals("Updated Name", unchangedCustomer.getName());
+    }
+
+    @Test
+    void updateCustomer_WithConcurrentWriteAndNoIfMatch_ShouldReturnConflict() throws Exception {
+        // Given
+        CustomerCommand updateCommand = new CustomerCommand();
+        updateCommand.setName("Lost Update");
+        updateCommand.setAge(35);
+        updateCommand.setDateOfBirth(LocalDate.of(1989, 1, 1));
+
+        // a concurrent write bumps the version behind the already loaded customer
+        customerRepository.flush();
+        jdbcTemplate.update("UPDATE customers SET version = version + 1 WHERE id = ?", existingCustomer.getId());
+
+        double auditedBefore = auditedUpdates("CONFLICT");
+
+        // When & Then
+        mockMvc.perform(put("/api/customers/{id}", existingCustomer.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateCommand)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("CONFLICT"));
+
+        assertEquals(auditedBefore + 1, auditedUpdates("CONFLICT"));
+    }
+
+    @Test
+    void updateCustomer_WithConcurrentWriteAfterIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        // Given
+        CustomerCommand updateCommand = new CustomerCommand();
+        updateCommand.setName("Lost Update");
+        updateCommand.setAge(35);
+        updateCommand.setDateOfBirth(LocalDate.of(1989, 1, 1));
+
+        customerRepository.flush();
+        jdbcTemplate.update("UPDATE customers SET version = version + 1 WHERE id = ?", existingCustomer.getId());
+
+        double auditedBefore = auditedUpdates("PRECONDITION_FAILED");
+
+        // When & Then
+        mockMvc.perform(put("/api/customers/{id}", existingCustomer.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateCommand)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errorCode").value("PRECONDITION_FAILED"));
+
+        assertEquals(auditedBefore + 1, auditedUpdates("PRECONDITION_FAILED"));
+    }
+
+    private double auditedUpdates(String status) {
+        Counter counter = meterRegistry.find("customer.audit.events")
+                .tag("action", "UPDATE_CUSTOMER").tag("status", status).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
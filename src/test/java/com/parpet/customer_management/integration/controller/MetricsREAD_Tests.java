@@ -0,0 +1,68 @@
+package com.parpet.customer_management.integration.controller;
+
+import com.parpet.customer_management.model.Customer;
+import com.parpet.customer_management.repository.CustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class MetricsREAD_Tests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void customerOperations_ShouldBeTimedAndCountedByOutcome() throws Exception {
+        // Given
+        Customer customer = new Customer();
+        customer.setName("Metrics Customer");
+        customer.setAge(30);
+        customer.setDateOfBirth(LocalDate.of(1994, 1, 15));
+        customer = customerRepository.save(customer);
+        double deletedBefore = count("DELETE_CUSTOMER", "SUCCESS");
+        double notFoundBefore = count("DELETE_CUSTOMER", "NOT_FOUND");
+
+        // When
+        mockMvc.perform(get("/api/customers/{id}", customer.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/customers/{id}", customer.getId()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/customers/{id}", customer.getId()))
+                .andExpect(status().isNotFound());
+
+        // Then
+        Timer getCustomer = meterRegistry.find("customer.service").tag("method", "getCustomer").timer();
+        assertNotNull(getCustomer);
+        assertEquals(1, count("DELETE_CUSTOMER", "SUCCESS") - deletedBefore);
+        assertEquals(1, count("DELETE_CUSTOMER", "NOT_FOUND") - notFoundBefore);
+        assertNotNull(meterRegistry.find("audit.repository").tag("operation", "add").timer());
+    }
+
+    private double count(String action, String status) {
+        Counter counter = meterRegistry.find("customer.audit.events").tag("action", action).tag("status", status).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,114 @@
+package com.parpet.customer_management.integration.datasource;
+
+import com.parpet.customer_management.CustomerManagementApplication;
+import com.parpet.customer_management.audit.writebehind.AuditEventBatchInserter;
+import com.parpet.customer_management.model.Customer;
+import com.parpet.customer_management.repository.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ids of Customer and AuditEventEntity come from pooled sequences (allocationSize 50). Each test
+ * starts the application on its own in-memory database, the restart test twice on the same one,
+ * with JDBC batching switched on as in the main configuration.
+ */
+class IdSEQUENCE_Tests {
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Test
+    void save_ShouldTakeConsecutiveIdsFromOneSequenceBlock() {
+        try (ConfigurableApplicationContext context = start("id_sequence_block", "create")) {
+            // When
+            List<Long> ids = saveCustomers(context, 3);
+
+            // Then
+            assertThat(ids).containsExactly(ids.get(0), ids.get(0) + 1, ids.get(0) + 2);
+            assertThat(context.getBean(JdbcTemplate.class).queryForObject(
+                    "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'CUSTOMERS_SEQ'", Long.class))
+                    .isEqualTo(ALLOCATION_SIZE);
+        }
+    }
+
+    @Test
+    void save_AfterRestart_ShouldContinueWithNextBlockWithoutReusingIds() {
+        // Given
+        List<Long> firstRun;
+        try (ConfigurableApplicationContext context = start("id_sequence_restart", "create")) {
+            firstRun = saveCustomers(context, 3);
+        }
+
+        // When
+        List<Long> secondRun;
+        try (ConfigurableApplicationContext context = start("id_sequence_restart", "none")) {
+            secondRun = saveCustomers(context, 3);
+        }
+
+        // Then
+        // the rest of the first node's block is skipped, but not more than that
+        assertThat(secondRun.get(0)).isGreaterThan(firstRun.get(2))
+                .isLessThanOrEqualTo(firstRun.get(0) + 2L * ALLOCATION_SIZE);
+        assertThat(secondRun).containsExactly(secondRun.get(0), secondRun.get(0) + 1, secondRun.get(0) + 2);
+    }
+
+    @Test
+    void insertBatch_ShouldTakeIdsFromSequenceAndBatchTheInserts() {
+        try (ConfigurableApplicationContext context = start("id_sequence_batch", "create")) {
+            // Given
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            List<AuditEvent> events = IntStream.range(0, 120)
+                    .mapToObj(i -> new AuditEvent(Instant.now(), "SYSTEM", "BATCH_" + i, Map.of("status", "SUCCESS")))
+                    .toList();
+
+            // When
+            context.getBean(AuditEventBatchInserter.class).insertBatch(events);
+
+            // Then
+            List<Long> ids = context.getBean(JdbcTemplate.class)
+                    .queryForList("SELECT id FROM audit_events ORDER BY id", Long.class);
+            assertThat(ids).hasSize(120).doesNotHaveDuplicates();
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+            // three sequence calls and two JDBC batches instead of 120 single-row statements
+            assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String database, String ddlAuto) {
+        return new SpringApplicationBuilder(CustomerManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + database + ";NON_KEYWORDS=USER;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=100",
+                        "--spring.jpa.properties.hibernate.order_inserts=true",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true");
+    }
+
+    private static List<Long> saveCustomers(ConfigurableApplicationContext context, int count) {
+        CustomerRepository customerRepository = context.getBean(CustomerRepository.class);
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Customer customer = new Customer();
+            customer.setName("Sequence Customer " + i);
+            customer.setAge(30);
+            customer.setDateOfBirth(LocalDate.of(1994, 1, 1));
+            ids.add(customerRepository.save(customer).getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,222 @@
+package com.parpet.customer_management.integration.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parpet.customer_management.controller.CustomerController;
+import com.parpet.customer_management.datasource.ReplicaRoutingDataSource;
+import com.parpet.customer_management.dto.incoming.CustomerCommand;
+import com.parpet.customer_management.model.Customer;
+import com.parpet.customer_management.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The primary and the replica are two separate in-memory H2 databases and nothing copies the rows
+ * between them, so the response of a read shows which one served it. The keyset listing is not
+ * cached and goes to the replica; single lookups and list pages are cached and read from the primary.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;NON_KEYWORDS=USER;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "replica-routing.enabled=true",
+        "replica-routing.replicas[0].url=" + ReplicaROUTING_Tests.REPLICA_URL,
+        "replica-routing.replicas[0].username=sa",
+        "replica-routing.lag-query=SELECT CASE WHEN EXISTS (SELECT 1 FROM replica_lag WHERE NOT streaming) THEN NULL"
+                + " ELSE (SELECT COALESCE(MAX(lag_seconds), 0) FROM replica_lag) END",
+        "replica-routing.max-lag=10s",
+        // the tests call checkReplicas() themselves
+        "replica-routing.health-check-interval=PT24H"
+})
+@AutoConfigureMockMvc
+class ReplicaROUTING_Tests {
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;NON_KEYWORDS=USER;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;"
+            + "INIT=RUNSCRIPT FROM 'classpath:db/replica-schema.sql'";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // outside of a transaction, so it is routed to the primary
+    @Autowired
+    private JdbcTemplate primary;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    private Customer primaryCustomer;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setName("Primary Customer");
+        customer.setAge(30);
+        customer.setDateOfBirth(LocalDate.of(1994, 1, 1));
+        customer.setGender("M");
+        primaryCustomer = customerRepository.save(customer);
+
+        replica.update("INSERT INTO customers (id, name, age, date_of_birth, gender, version) VALUES (?, ?, ?, ?, ?, ?)",
+                1_000_001L, "Replica Customer", 40, LocalDate.of(1984, 1, 1), "F", 0L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.update("DELETE FROM customers");
+        primary.update("DELETE FROM audit_events");
+        replica.update("DELETE FROM customers");
+        replica.update("DELETE FROM replica_lag");
+        routingDataSource.checkReplicas();
+        // the rows were removed behind the caches' back
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void getCustomersAfter_ShouldBeServedByReplica() throws Exception {
+        // Given
+        assertThat(routingDataSource.healthyReplicas()).containsExactly("replica-0");
+
+        // When & Then
+        mockMvc.perform(get("/api/customers").param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name").value("Replica Customer"));
+    }
+
+    @Test
+    void getCustomers_WithHealthyReplica_ShouldBeLoadedIntoCacheFromPrimary() throws Exception {
+        // Given
+        assertThat(routingDataSource.healthyReplicas()).containsExactly("replica-0");
+
+        // When & Then
+        mockMvc.perform(get("/api/customers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("Primary Customer"));
+    }
+
+    @Test
+    void getCustomer_AfterPatch_WithLaggingReplica_ShouldNotCacheReplicaState() throws Exception {
+        // Given
+        // the replica is behind, but within max-lag: it still has the customer as it was before the patch
+        replica.update("INSERT INTO customers (id, name, age, date_of_birth, gender, version) VALUES (?, ?, ?, ?, ?, ?)",
+                primaryCustomer.getId(), "Primary Customer", 30, LocalDate.of(1994, 1, 1), "M", 0L);
+        replica.update("INSERT INTO replica_lag (lag_seconds) VALUES (5)");
+        routingDataSource.checkReplicas();
+        assertThat(routingDataSource.healthyReplicas()).containsExactly("replica-0");
+
+        mockMvc.perform(patch("/api/customers/{id}", primaryCustomer.getId())
+                        .contentType(CustomerController.MERGE_PATCH_JSON)
+                        .content("{\"name\": \"Patched Customer\"}"))
+                .andExpect(status().isNoContent());
+
+        // When & Then
+        // loaded into the caches by these reads, and served from there by the repeated ones
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/customers/{id}", primaryCustomer.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name").value("Patched Customer"));
+            mockMvc.perform(get("/api/customers").param("gender", "M"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].name").value("Patched Customer"));
+        }
+        // the replica read outside of the caches still sees the old state
+        mockMvc.perform(get("/api/customers").param("cursor", "").param("gender", "M"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Primary Customer"));
+    }
+
+    @Test
+    void createCustomer_ShouldBeWrittenToPrimary() throws Exception {
+        // Given
+        CustomerCommand command = new CustomerCommand();
+        command.setName("New Customer");
+        command.setAge(25);
+        command.setDateOfBirth(LocalDate.of(1999, 1, 1));
+        command.setGender("F");
+
+        // When
+        mockMvc.perform(post("/api/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(command)))
+                .andExpect(status().isOk());
+
+        // Then
+        assertThat(primary.queryForObject("SELECT COUNT(*) FROM customers WHERE name = 'New Customer'", Long.class))
+                .isEqualTo(1);
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM customers WHERE name = 'New Customer'", Long.class))
+                .isZero();
+    }
+
+    @Test
+    void getCustomers_WithLaggingReplica_ShouldFallBackToPrimary() throws Exception {
+        // Given
+        replica.update("INSERT INTO replica_lag (lag_seconds) VALUES (60)");
+
+        // When
+        routingDataSource.checkReplicas();
+
+        // Then
+        assertThat(routingDataSource.healthyReplicas()).isEmpty();
+        mockMvc.perform(get("/api/customers").param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name").value("Primary Customer"));
+    }
+
+    @Test
+    void checkReplicas_WithDisconnectedWalReceiver_ShouldTakeReplicaOut() {
+        // Given
+        // everything received has been replayed, but nothing is being received any more
+        replica.update("INSERT INTO replica_lag (lag_seconds, streaming) VALUES (0, FALSE)");
+
+        // When
+        routingDataSource.checkReplicas();
+
+        // Then
+        assertThat(routingDataSource.healthyReplicas()).isEmpty();
+    }
+
+    @Test
+    void getCustomers_AfterReplicaCaughtUp_ShouldBeServedByReplicaAgain() throws Exception {
+        // Given
+        replica.update("INSERT INTO replica_lag (lag_seconds) VALUES (60)");
+        routingDataSource.checkReplicas();
+        replica.update("DELETE FROM replica_lag");
+
+        // When
+        routingDataSource.checkReplicas();
+
+        // Then
+        assertThat(routingDataSource.healthyReplicas()).containsExactly("replica-0");
+        mockMvc.perform(get("/api/customers").param("cursor", "").param("gender", "F"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Replica Customer"));
+    }
+}
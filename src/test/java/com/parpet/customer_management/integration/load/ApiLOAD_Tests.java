@@ -0,0 +1,135 @@
+package com.parpet.customer_management.integration.load;
+
+import com.parpet.customer_management.model.Customer;
+import com.parpet.customer_management.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * End-to-end latency/throughput baseline of the REST API: the application on a random port
+ * against its own in-memory H2 database, a seeded customer table and a mixed create / read / list /
+ * update / delete workload sent at a fixed arrival rate. Prints p50/p95/p99/p999 and throughput per
+ * endpoint and writes HdrHistogram .hgrm files to target/loadtest. Opt-in:
+ * <pre>
+ * mvn test -Dtest=ApiLOAD_Tests -Dloadtest=true
+ *     [-Dloadtest.seed=10000] [-Dloadtest.rate=200] [-Dloadtest.seconds=30] [-Dloadtest.warmup-seconds=10]
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;NON_KEYWORDS=USER;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "logging.level.root=WARN"
+})
+class ApiLOAD_Tests {
+    private static final int SEED = Integer.getInteger("loadtest.seed", 10_000);
+    private static final int RATE = Integer.getInteger("loadtest.rate", 200);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.seconds", 30));
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    private static final String BODY = "{\"name\":\"%s\",\"age\":%d,\"dateOfBirth\":\"1990-05-01\",\"address\":\"1234 Budapest, Példa utca %d.\",\"gender\":\"F\"}";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private final List<Long> seededIds = new ArrayList<>();
+    // only customers created by the run are deleted, so reads and updates of seeded ids never 404
+    private final Queue<Long> createdIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAllInBatch();
+
+        List<Customer> chunk = new ArrayList<>(1000);
+        for (int i = 0; i < SEED; i++) {
+            Customer customer = new Customer();
+            customer.setName("Seed Customer " + i);
+            customer.setAge(18 + i % 70);
+            customer.setDateOfBirth(LocalDate.of(1940 + i % 70, 1 + i % 12, 1 + i % 28));
+            customer.setAddress("1234 Budapest, Példa utca " + i + ".");
+            customer.setGender(i % 2 == 0 ? "M" : "F");
+            chunk.add(customer);
+            if (chunk.size() == 1000 || i == SEED - 1) {
+                customerRepository.saveAll(chunk).forEach(saved -> seededIds.add(saved.getId()));
+                chunk.clear();
+            }
+        }
+    }
+
+    @Test
+    void mixedWorkload_AtFixedArrivalRate_ShouldReportLatencyPerEndpoint() throws Exception {
+        String customers = "http://localhost:" + port + "/api/customers";
+
+        List<OpenLoopLoadGenerator.Operation> mix = List.of(
+                new OpenLoopLoadGenerator.Operation("POST /api/customers", 20,
+                        () -> json(customers).POST(HttpRequest.BodyPublishers.ofString(newBody())).build(),
+                        response -> {
+                            Matcher id = ID.matcher(response.body());
+                            if (id.find()) {
+                                createdIds.add(Long.parseLong(id.group(1)));
+                            }
+                        }),
+                new OpenLoopLoadGenerator.Operation("GET /api/customers/{id}", 40,
+                        () -> HttpRequest.newBuilder(URI.create(customers + "/" + randomSeededId())).build(), null),
+                new OpenLoopLoadGenerator.Operation("GET /api/customers", 20,
+                        () -> HttpRequest.newBuilder(URI.create(customers + "?size=20&page="
+                                + ThreadLocalRandom.current().nextInt(10))).build(), null),
+                new OpenLoopLoadGenerator.Operation("PUT /api/customers/{id}", 15,
+                        () -> json(customers + "/" + randomSeededId()).PUT(HttpRequest.BodyPublishers.ofString(newBody())).build(), null),
+                new OpenLoopLoadGenerator.Operation("DELETE /api/customers/{id}", 5,
+                        () -> HttpRequest.newBuilder(URI.create(customers + "/" + nextCreatedId())).DELETE().build(), null));
+
+        // JIT warm-up; its numbers (and its first deletes, sent before any create finished) are discarded
+        new OpenLoopLoadGenerator().run(mix, RATE, WARMUP);
+        OpenLoopLoadGenerator.Report report = new OpenLoopLoadGenerator().run(mix, RATE, DURATION);
+
+        report.print(System.out);
+        report.writeHgrm(Path.of("target", "loadtest"));
+        assertEquals(0, report.totalErrors());
+    }
+
+    private static HttpRequest.Builder json(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Content-Type", "application/json");
+    }
+
+    private String newBody() {
+        long n = sequence.incrementAndGet();
+        return BODY.formatted("Load Customer " + n, 18 + n % 70, n);
+    }
+
+    private long randomSeededId() {
+        return seededIds.get(ThreadLocalRandom.current().nextInt(seededIds.size()));
+    }
+
+    private long nextCreatedId() {
+        Long id = createdIds.poll();
+        if (id == null) {
+            // deletes outran the creates: counted as an error of the DELETE endpoint
+            throw new IllegalStateException("No customer created by the run is left to delete");
+        }
+        return id;
+    }
+}
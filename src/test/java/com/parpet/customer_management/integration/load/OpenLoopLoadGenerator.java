@@ -0,0 +1,159 @@
+package com.parpet.customer_management.integration.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Fixed arrival rate (open-loop) HTTP load generator. Request i is due at start + i / rate and is
+ * sent asynchronously whether or not earlier requests have completed; its latency is measured from
+ * that due time, not from the actual send, so a stalled server is not hidden by a stalled client
+ * (coordinated omission). Latencies are recorded per endpoint into HdrHistograms, in microseconds.
+ */
+class OpenLoopLoadGenerator {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final HttpClient client;
+    private final ExecutorService callbacks = Executors.newCachedThreadPool();
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+
+    OpenLoopLoadGenerator() {
+        this.client = HttpClient.newBuilder()
+                .executor(callbacks)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * One kind of request of the workload mix.
+     *
+     * @param endpoint   name the latencies are reported under
+     * @param weight     relative share in the mix
+     * @param request    builds the next request
+     * @param onResponse called with successful (2xx) responses, e.g. to remember created ids
+     */
+    record Operation(String endpoint, int weight, Supplier<HttpRequest> request, Consumer<HttpResponse<String>> onResponse) {
+    }
+
+    /**
+     * Sends {@code rate * duration} requests, picking the operation of request i by weight, and
+     * waits for the outstanding ones.
+     */
+    Report run(List<Operation> mix, int rate, Duration duration) throws InterruptedException {
+        int totalWeight = mix.stream().mapToInt(Operation::weight).sum();
+        Operation[] slots = new Operation[totalWeight];
+        int slot = 0;
+        for (Operation operation : mix) {
+            recorders.computeIfAbsent(operation.endpoint(), key -> new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.computeIfAbsent(operation.endpoint(), key -> new AtomicLong());
+            for (int i = 0; i < operation.weight(); i++) {
+                slots[slot++] = operation;
+            }
+        }
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long count = rate * duration.toSeconds();
+        CompletableFuture<?>[] inFlight = new CompletableFuture<?>[(int) count];
+        long start = System.nanoTime();
+
+        for (long i = 0; i < count; i++) {
+            long due = start + i * intervalNanos;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // interleave the operations evenly instead of bursts of the same kind
+            Operation operation = slots[(int) ((i * 7919) % totalWeight)];
+            inFlight[(int) i] = send(operation, due);
+        }
+        CompletableFuture.allOf(inFlight).exceptionally(e -> null).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        Map<String, Long> errorCounts = new LinkedHashMap<>();
+        for (Operation operation : mix) {
+            histograms.put(operation.endpoint(), recorders.get(operation.endpoint()).getIntervalHistogram());
+            errorCounts.put(operation.endpoint(), errors.get(operation.endpoint()).get());
+        }
+        callbacks.shutdown();
+        return new Report(histograms, errorCounts, seconds);
+    }
+
+    private CompletableFuture<?> send(Operation operation, long due) {
+        HttpRequest request;
+        try {
+            request = operation.request().get();
+        } catch (RuntimeException e) {
+            errors.get(operation.endpoint()).incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, failure) -> {
+                    long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due);
+                    recorders.get(operation.endpoint()).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+                    if (failure != null || response.statusCode() >= 300) {
+                        errors.get(operation.endpoint()).incrementAndGet();
+                    } else if (operation.onResponse() != null) {
+                        operation.onResponse().accept(response);
+                    }
+                });
+    }
+
+    record Report(Map<String, Histogram> histograms, Map<String, Long> errors, double seconds) {
+
+        long totalErrors() {
+            return errors.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        void print(PrintStream out) {
+            out.printf("%n%-28s %9s %9s %9s %9s %9s %10s %7s%n",
+                    "endpoint", "count", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "req/s", "errors");
+            histograms.forEach((endpoint, histogram) -> out.printf("%-28s %9d %9.2f %9.2f %9.2f %9.2f %10.1f %7d%n",
+                    endpoint,
+                    histogram.getTotalCount(),
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(95) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getTotalCount() / seconds,
+                    errors.get(endpoint)));
+            out.println();
+        }
+
+        /**
+         * Writes one HdrHistogram percentile distribution file (.hgrm, milliseconds) per endpoint,
+         * loadable into the HdrHistogram plotter to compare runs.
+         */
+        void writeHgrm(Path directory) throws IOException {
+            Files.createDirectories(directory);
+            for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+                String fileName = entry.getKey().replaceAll("[^A-Za-z0-9]+", "_").replaceAll("_$", "") + ".hgrm";
+                try (PrintStream out = new PrintStream(new FileOutputStream(directory.resolve(fileName).toFile()))) {
+                    entry.getValue().outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.parpet.customer_management.integration.load;
+
+import com.parpet.customer_management.CustomerManagementApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Same closed-loop workload (create, then read back by id and list, every create also writes an
+ * audit event) against the application started once with Tomcat's platform thread pool and once
+ * with virtual threads. Opt-in and needs Java 21:
+ * <pre>
+ * mvn -Pvirtual-threads test -Dtest=ThreadingModeLOAD_Tests -Dloadtest=true
+ *     [-Dloadtest.clients=400] [-Dloadtest.seconds=15] [-Dloadtest.datasource-url=jdbc:postgresql://...]
+ * </pre>
+ * With the in-memory H2 default the database answers in microseconds, so the difference only
+ * shows with a real database (network round trips) behind {@code loadtest.datasource-url}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class ThreadingModeLOAD_Tests {
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 400);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.seconds", 15));
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    @Test
+    void customerWorkload_WithVirtualThreads_ShouldCompleteWithoutErrors() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%n%-10s %12s %10s%n", "mode", "requests/s", "errors");
+        System.out.printf("%-10s %12.1f %10d%n", "platform", platform.throughput(), platform.errors());
+        System.out.printf("%-10s %12.1f %10d%n%n", "virtual", virtual.throughput(), virtual.errors());
+
+        assertEquals(0, platform.errors());
+        assertEquals(0, virtual.errors());
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        String url = System.getProperty("loadtest.datasource-url",
+                "jdbc:h2:mem:load_" + mode + ";NON_KEYWORDS=USER;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CustomerManagementApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=" + url,
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "logging.level.root=WARN")
+                .run()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/customers";
+            return drive(baseUrl);
+        }
+    }
+
+    private Result drive(String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        AtomicLong requests = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + DURATION.toNanos();
+
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(CLIENTS);
+        for (int c = 0; c < CLIENTS; c++) {
+            int clientId = c;
+            futures.add(clients.submit(() -> {
+                int i = 0;
+                while (System.nanoTime() < deadline) {
+                    try {
+                        HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(baseUrl))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Load " + clientId + "-" + i++
+                                        + "\",\"age\":30,\"dateOfBirth\":\"1994-01-15\",\"gender\":\"M\"}"))
+                                .build(), HttpResponse.BodyHandlers.ofString());
+                        count(created, requests, errors);
+
+                        Matcher id = ID.matcher(created.body());
+                        if (id.find()) {
+                            count(client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id.group(1))).build(),
+                                    HttpResponse.BodyHandlers.ofString()), requests, errors);
+                        }
+                        count(client.send(HttpRequest.newBuilder(URI.create(baseUrl + "?size=20")).build(),
+                                HttpResponse.BodyHandlers.ofString()), requests, errors);
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        clients.shutdown();
+
+        return new Result(requests.get() / seconds, errors.get());
+    }
+
+    private static void count(HttpResponse<String> response, AtomicLong requests, AtomicLong errors) {
+        requests.incrementAndGet();
+        if (response.statusCode() >= 400) {
+            errors.incrementAndGet();
+        }
+    }
+
+    private record Result(double throughput, long errors) {
+    }
+}
@@ -0,0 +1,28 @@
+-- Schema of the stand-in replica in ReplicaROUTING_Tests. It is not replicated from the primary,
+-- so whatever a read returns shows which database served it. Runs on every new connection.
+CREATE TABLE IF NOT EXISTS customers (
+    id            BIGINT PRIMARY KEY,
+    name          VARCHAR(100),
+    age           INTEGER,
+    date_of_birth DATE,
+    address       VARCHAR(200),
+    gender        VARCHAR(255),
+    version       BIGINT
+);
+
+CREATE TABLE IF NOT EXISTS audit_events (
+    id          BIGINT PRIMARY KEY,
+    principal   VARCHAR(255) NOT NULL,
+    type        VARCHAR(255) NOT NULL,
+    "TIMESTAMP" TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    customer_id BIGINT,
+    status      VARCHAR(255),
+    data        JSON
+);
+
+-- read by replica-routing.lag-query, empty means no lag; a row with streaming = FALSE stands for a
+-- disconnected WAL receiver, whose lag is unknown
+CREATE TABLE IF NOT EXISTS replica_lag (
+    lag_seconds DOUBLE PRECISION,
+    streaming   BOOLEAN DEFAULT TRUE NOT NULL
+);